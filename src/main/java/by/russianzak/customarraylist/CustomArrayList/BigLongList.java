@@ -0,0 +1,355 @@
+package by.russianzak.customarraylist.CustomArrayList;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * BigLongList is a list of primitive {@code long} values addressed by {@code long} indices, so it
+ * can grow past the {@code Integer.MAX_VALUE} limit of a single Java array. Values live in
+ * fixed-size chunks of {@code 2^chunkBits} elements; an index is split into a chunk number and an
+ * offset with a shift and a mask. Whole chunks are the unit of parallel work for iteration and
+ * sorting.
+ */
+public class BigLongList {
+
+  private static final int DEFAULT_CHUNK_BITS = 20;
+  private static final int INITIAL_CHUNK_CAPACITY = 10;
+  private static final int MIN_MERGE_SLICE = 1 << 12;
+
+  private final int chunkBits;
+  private final int chunkSize;
+  private final long chunkMask;
+  private long[][] chunks;
+  private int chunkCount;
+  private long size;
+
+  /**
+   * Constructs an empty list with chunks of 2^20 values.
+   */
+  public BigLongList() {
+    this(DEFAULT_CHUNK_BITS);
+  }
+
+  /**
+   * Constructs an empty list with chunks of {@code 2^chunkBits} values.
+   *
+   * @param chunkBits the base-2 logarithm of the chunk length
+   * @throws IllegalArgumentException if {@code chunkBits} is not between 1 and 30
+   */
+  public BigLongList(int chunkBits) {
+    if (chunkBits < 1 || chunkBits > 30) {
+      throw new IllegalArgumentException("Illegal chunk bits: " + chunkBits);
+    }
+    this.chunkBits = chunkBits;
+    this.chunkSize = 1 << chunkBits;
+    this.chunkMask = chunkSize - 1;
+    this.chunks = new long[INITIAL_CHUNK_CAPACITY][];
+  }
+
+  /**
+   * Returns the number of values in this list.
+   *
+   * @return the number of values in this list
+   */
+  public long size64() {
+    return size;
+  }
+
+  /**
+   * Checks if this list is empty.
+   *
+   * @return {@code true} if this list contains no values, {@code false} otherwise
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the value at the specified position in this list.
+   *
+   * @param index the index of the value to be returned
+   * @return the value at the specified position
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public long get(long index) {
+    Objects.checkIndex(index, size);
+
+    return chunks[(int) (index >>> chunkBits)][(int) (index & chunkMask)];
+  }
+
+  /**
+   * Replaces the value at the specified position in this list.
+   *
+   * @param index the index of the value to replace
+   * @param value the value to be stored at the specified position
+   * @return the value previously at the specified position
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public long set(long index, long value) {
+    Objects.checkIndex(index, size);
+
+    long[] chunk = chunks[(int) (index >>> chunkBits)];
+    int offset = (int) (index & chunkMask);
+    long oldValue = chunk[offset];
+    chunk[offset] = value;
+    return oldValue;
+  }
+
+  /**
+   * Appends the specified value to the end of this list.
+   *
+   * @param value the value to be appended
+   */
+  public void add(long value) {
+    ensureSize(size + 1);
+    chunks[(int) (size >>> chunkBits)][(int) (size & chunkMask)] = value;
+    size++;
+  }
+
+  /**
+   * Changes the size of this list. New positions are filled with zero; positions past a smaller
+   * size are released a chunk at a time.
+   *
+   * @param newSize the new number of values
+   * @throws IllegalArgumentException if {@code newSize} is negative
+   */
+  public void setSize64(long newSize) {
+    if (newSize < 0) {
+      throw new IllegalArgumentException("Illegal size: " + newSize);
+    }
+    if (newSize > size) {
+      ensureSize(newSize);
+    } else {
+      int keptChunks = (int) ((newSize + chunkMask) >>> chunkBits);
+      Arrays.fill(chunks, keptChunks, chunkCount, null);
+      chunkCount = keptChunks;
+      if (keptChunks > 0) {
+        Arrays.fill(chunks[keptChunks - 1], (int) (((newSize - 1) & chunkMask) + 1), chunkSize,
+            0L);
+      }
+    }
+    size = newSize;
+  }
+
+  /**
+   * Assigns the specified value to every position in {@code [fromIndex, toIndex)}.
+   *
+   * @param fromIndex the first index to fill, inclusive
+   * @param toIndex   the last index to fill, exclusive
+   * @param value     the value to store
+   * @throws IndexOutOfBoundsException if the range is out of bounds
+   */
+  public void fill(long fromIndex, long toIndex, long value) {
+    Objects.checkFromToIndex(fromIndex, toIndex, size);
+
+    long index = fromIndex;
+    while (index < toIndex) {
+      int chunk = (int) (index >>> chunkBits);
+      int from = (int) (index & chunkMask);
+      int to = (int) Math.min(chunkSize, from + (toIndex - index));
+      Arrays.fill(chunks[chunk], from, to, value);
+      index += to - from;
+    }
+  }
+
+  /**
+   * Copies {@code length} values starting at {@code srcIndex} of this list to {@code destIndex} of
+   * the destination list, one chunk-aligned segment at a time. Overlapping ranges within the same
+   * list are copied as if through a temporary buffer.
+   *
+   * @param srcIndex  the first index to copy from
+   * @param dest      the destination list, possibly this list
+   * @param destIndex the first index to copy to
+   * @param length    the number of values to copy
+   * @throws IndexOutOfBoundsException if either range is out of bounds
+   */
+  public void copyTo(long srcIndex, BigLongList dest, long destIndex, long length) {
+    Objects.checkFromIndexSize(srcIndex, length, size);
+    Objects.checkFromIndexSize(destIndex, length, dest.size);
+
+    if (dest == this && destIndex > srcIndex && destIndex < srcIndex + length) {
+      long remaining = length;
+      while (remaining > 0) {
+        long srcEnd = srcIndex + remaining - 1;
+        long destEnd = destIndex + remaining - 1;
+        int n = (int) Math.min(remaining,
+            Math.min((srcEnd & chunkMask) + 1, (destEnd & dest.chunkMask) + 1));
+        System.arraycopy(chunks[(int) (srcEnd >>> chunkBits)], (int) (srcEnd & chunkMask) - n + 1,
+            dest.chunks[(int) (destEnd >>> dest.chunkBits)],
+            (int) (destEnd & dest.chunkMask) - n + 1, n);
+        remaining -= n;
+      }
+      return;
+    }
+    long copied = 0;
+    while (copied < length) {
+      long src = srcIndex + copied;
+      long dst = destIndex + copied;
+      int n = (int) Math.min(length - copied,
+          Math.min(chunkSize - (src & chunkMask), dest.chunkSize - (dst & dest.chunkMask)));
+      System.arraycopy(chunks[(int) (src >>> chunkBits)], (int) (src & chunkMask),
+          dest.chunks[(int) (dst >>> dest.chunkBits)], (int) (dst & dest.chunkMask), n);
+      copied += n;
+    }
+  }
+
+  /**
+   * Performs the given action for each value, processing chunks in parallel. Values within one
+   * chunk are visited in order, but chunks run concurrently, so the action must be thread-safe.
+   *
+   * @param action the action to be performed for each value
+   * @throws NullPointerException if the specified action is null
+   */
+  public void parallelForEach(LongConsumer action) {
+    Objects.requireNonNull(action);
+
+    IntStream.range(0, chunkCount).parallel().forEach(chunk -> {
+      long[] values = chunks[chunk];
+      int length = chunkLength(chunk);
+      for (int i = 0; i < length; i++) {
+        action.accept(values[i]);
+      }
+    });
+  }
+
+  /**
+   * Sorts this list in ascending order. Chunks are sorted in parallel, then adjacent sorted runs
+   * are merged pairwise until one run remains. Every merge round splits its output into equal
+   * slices and locates each slice's inputs by co-ranking, so all slices of a round, including the
+   * final merge of two halves, run in parallel. Merging uses one scratch set of chunks of the same
+   * size as the data.
+   */
+  public void sort() {
+    IntStream.range(0, chunkCount).parallel()
+        .forEach(chunk -> Arrays.sort(chunks[chunk], 0, chunkLength(chunk)));
+    if (chunkCount < 2) {
+      return;
+    }
+
+    long[][] source = chunks;
+    long[][] target = new long[chunks.length][];
+    for (int chunk = 0; chunk < chunkCount; chunk++) {
+      target[chunk] = new long[chunkSize];
+    }
+    int parallelism = Runtime.getRuntime().availableProcessors() * 4;
+    long slice = Math.max(MIN_MERGE_SLICE,
+        Math.min(chunkSize, (size + parallelism - 1) / parallelism));
+    int slices = (int) ((size + slice - 1) / slice);
+    for (long run = chunkSize; run < size; run <<= 1) {
+      long width = run;
+      long[][] from = source;
+      long[][] to = target;
+      IntStream.range(0, slices).parallel().forEach(task -> {
+        long outStart = task * slice;
+        long outEnd = Math.min(outStart + slice, size);
+        long low = outStart / (2 * width) * (2 * width);
+        long middle = Math.min(low + width, size);
+        long high = Math.min(low + 2 * width, size);
+        while (outStart < outEnd) {
+          long sliceEnd = Math.min(outEnd, high);
+          long i = coRank(from, outStart - low, low, middle - low, middle, high - middle);
+          long iEnd = coRank(from, sliceEnd - low, low, middle - low, middle, high - middle);
+          long j = middle + (outStart - low) - (i - low);
+          long jEnd = middle + (sliceEnd - low) - (iEnd - low);
+          merge(from, to, i, iEnd, j, jEnd, outStart);
+          outStart = sliceEnd;
+          low = high;
+          middle = Math.min(low + width, size);
+          high = Math.min(low + 2 * width, size);
+        }
+      });
+      source = to;
+      target = from;
+    }
+    chunks = source;
+  }
+
+  /**
+   * Returns the index in the run {@code [a, a + n)} up to which the first {@code k} values of the
+   * stable merge of that run with {@code [b, b + m)} are taken from it.
+   */
+  private long coRank(long[][] data, long k, long a, long n, long b, long m) {
+    long lowI = Math.max(0, k - m);
+    long highI = Math.min(k, n);
+    while (lowI < highI) {
+      long i = (lowI + highI) >>> 1;
+      long j = k - i;
+      if (j > 0 && read(data, b + j - 1) >= read(data, a + i)) {
+        lowI = i + 1;
+      } else {
+        highI = i;
+      }
+    }
+    return a + lowI;
+  }
+
+  /**
+   * Merges the sorted ranges {@code [i, iEnd)} and {@code [j, jEnd)} of {@code from} into
+   * {@code to} starting at {@code k}. The inner loop works on one chunk of each range at a time,
+   * and whatever remains of either range once the other is exhausted is copied in bulk.
+   */
+  private void merge(long[][] from, long[][] to, long i, long iEnd, long j, long jEnd, long k) {
+    while (i < iEnd && j < jEnd) {
+      long[] a = from[(int) (i >>> chunkBits)];
+      int ai = (int) (i & chunkMask);
+      int aLimit = (int) Math.min(chunkSize, ai + (iEnd - i));
+      long[] b = from[(int) (j >>> chunkBits)];
+      int bi = (int) (j & chunkMask);
+      int bLimit = (int) Math.min(chunkSize, bi + (jEnd - j));
+      long[] out = to[(int) (k >>> chunkBits)];
+      int ko = (int) (k & chunkMask);
+      int aStart = ai;
+      int bStart = bi;
+      int kStart = ko;
+      while (ai < aLimit && bi < bLimit && ko < chunkSize) {
+        long x = a[ai];
+        long y = b[bi];
+        if (x <= y) {
+          out[ko++] = x;
+          ai++;
+        } else {
+          out[ko++] = y;
+          bi++;
+        }
+      }
+      i += ai - aStart;
+      j += bi - bStart;
+      k += ko - kStart;
+    }
+    copy(from, i, to, k, iEnd - i);
+    copy(from, j, to, k + (iEnd - i), jEnd - j);
+  }
+
+  private void copy(long[][] from, long src, long[][] to, long dst, long length) {
+    long copied = 0;
+    while (copied < length) {
+      long s = src + copied;
+      long d = dst + copied;
+      int n = (int) Math.min(length - copied,
+          Math.min(chunkSize - (s & chunkMask), chunkSize - (d & chunkMask)));
+      System.arraycopy(from[(int) (s >>> chunkBits)], (int) (s & chunkMask),
+          to[(int) (d >>> chunkBits)], (int) (d & chunkMask), n);
+      copied += n;
+    }
+  }
+
+  private long read(long[][] data, long index) {
+    return data[(int) (index >>> chunkBits)][(int) (index & chunkMask)];
+  }
+
+  private int chunkLength(int chunk) {
+    return (int) Math.min(chunkSize, size - ((long) chunk << chunkBits));
+  }
+
+  private void ensureSize(long minSize) {
+    int neededChunks = (int) ((minSize + chunkMask) >>> chunkBits);
+    if (neededChunks > chunks.length) {
+      chunks = Arrays.copyOf(chunks, Math.max(neededChunks, (chunks.length * 3) / 2 + 1));
+    }
+    while (chunkCount < neededChunks) {
+      chunks[chunkCount++] = new long[chunkSize];
+    }
+  }
+}
@@ -0,0 +1,294 @@
+package by.russianzak.customarraylist.CustomArrayList;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * BitList is a dynamic list of booleans packed one bit per element into a {@code long[]}. It grows
+ * like {@link CustomArrayList}, shifts whole words on positional insert and remove, and combines
+ * with other bit lists word by word. Bits past the end of the list are always kept clear.
+ */
+public class BitList {
+
+  private static final int INITIAL_CAPACITY = 10;
+  private static final int ADDRESS_BITS = 6;
+  private static final int WORD_MASK = Long.SIZE - 1;
+
+  private long[] words;
+  private int size;
+
+  /**
+   * Constructs an empty list with an initial capacity of ten words.
+   */
+  public BitList() {
+    words = new long[INITIAL_CAPACITY];
+  }
+
+  /**
+   * Constructs an empty list able to hold the specified number of bits without growing.
+   *
+   * @param capacity the initial capacity in bits
+   * @throws IllegalArgumentException if the specified initial capacity is negative
+   */
+  public BitList(int capacity) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Illegal capacity: " + capacity);
+    }
+    words = new long[wordIndex(capacity + WORD_MASK)];
+  }
+
+  /**
+   * Returns the number of bits in this list.
+   *
+   * @return the number of bits in this list
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Checks if this list is empty.
+   *
+   * @return {@code true} if this list contains no bits, {@code false} otherwise
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the bit at the specified position.
+   *
+   * @param index the index of the bit
+   * @return the bit at the specified position
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public boolean getBit(int index) {
+    Objects.checkIndex(index, size);
+
+    return (words[wordIndex(index)] & (1L << index)) != 0;
+  }
+
+  /**
+   * Sets the bit at the specified position.
+   *
+   * @param index the index of the bit
+   * @param value the new value of the bit
+   * @return the previous value of the bit
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public boolean setBit(int index, boolean value) {
+    boolean oldValue = getBit(index);
+    if (value) {
+      words[wordIndex(index)] |= 1L << index;
+    } else {
+      words[wordIndex(index)] &= ~(1L << index);
+    }
+    return oldValue;
+  }
+
+  /**
+   * Appends the specified bit to the end of this list.
+   *
+   * @param value the bit to be appended
+   */
+  public void add(boolean value) {
+    ensureCapacity(size + 1);
+    if (value) {
+      words[wordIndex(size)] |= 1L << size;
+    }
+    size++;
+  }
+
+  /**
+   * Inserts the specified bit at the specified position, shifting the following bits up by one
+   * a whole word at a time.
+   *
+   * @param index the index at which the bit is to be inserted
+   * @param value the bit to be inserted
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public void add(int index, boolean value) {
+    checkIndexForAdd(index);
+
+    ensureCapacity(size + 1);
+    int first = wordIndex(index);
+    int last = wordIndex(size);
+    for (int w = last; w > first; w--) {
+      words[w] = words[w] << 1 | words[w - 1] >>> WORD_MASK;
+    }
+    long lowMask = (1L << index) - 1;
+    long word = words[first];
+    words[first] = (word & lowMask) | (word & ~lowMask) << 1 | (value ? 1L << index : 0);
+    size++;
+  }
+
+  /**
+   * Removes the bit at the specified position, shifting the following bits down by one a whole
+   * word at a time.
+   *
+   * @param index the index of the bit to be removed
+   * @return the bit that was removed
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public boolean remove(int index) {
+    boolean removed = getBit(index);
+    int first = wordIndex(index);
+    int last = wordIndex(size - 1);
+    long lowMask = (1L << index) - 1;
+    long word = words[first];
+    words[first] = (word & lowMask) | (word >>> 1 & ~lowMask);
+    for (int w = first; w < last; w++) {
+      words[w] |= words[w + 1] << WORD_MASK;
+      words[w + 1] >>>= 1;
+    }
+    size--;
+    return removed;
+  }
+
+  /**
+   * Returns the number of set bits in this list.
+   *
+   * @return the number of set bits
+   */
+  public int cardinality() {
+    int count = 0;
+    for (int w = 0, n = wordsInUse(); w < n; w++) {
+      count += Long.bitCount(words[w]);
+    }
+    return count;
+  }
+
+  /**
+   * Returns the index of the first set bit at or after the specified position, or -1 if there is
+   * none.
+   *
+   * @param fromIndex the index to start searching from, inclusive
+   * @return the index of the next set bit, or -1 if there is none
+   * @throws IndexOutOfBoundsException if {@code fromIndex} is negative
+   */
+  public int nextSetBit(int fromIndex) {
+    if (fromIndex < 0) {
+      throw new IndexOutOfBoundsException("fromIndex < 0: " + fromIndex);
+    }
+    if (fromIndex >= size) {
+      return -1;
+    }
+    int w = wordIndex(fromIndex);
+    long word = words[w] & (-1L << fromIndex);
+    int n = wordsInUse();
+    while (true) {
+      if (word != 0) {
+        return (w << ADDRESS_BITS) + Long.numberOfTrailingZeros(word);
+      }
+      if (++w == n) {
+        return -1;
+      }
+      word = words[w];
+    }
+  }
+
+  /**
+   * Clears every bit of this list that is not set in the other list. Bits past the end of the
+   * other list count as clear.
+   *
+   * @param other the list to combine with
+   */
+  public void and(BitList other) {
+    int n = wordsInUse();
+    int common = Math.min(n, other.wordsInUse());
+    for (int w = 0; w < common; w++) {
+      words[w] &= other.words[w];
+    }
+    Arrays.fill(words, common, n, 0);
+  }
+
+  /**
+   * Sets every bit of this list that is set in the other list. The size of this list does not
+   * change; bits of the other list past its end are ignored.
+   *
+   * @param other the list to combine with
+   */
+  public void or(BitList other) {
+    int common = Math.min(wordsInUse(), other.wordsInUse());
+    for (int w = 0; w < common; w++) {
+      words[w] |= other.words[w];
+    }
+    clearUnusedBits();
+  }
+
+  /**
+   * Flips every bit of this list that is set in the other list. The size of this list does not
+   * change; bits of the other list past its end are ignored.
+   *
+   * @param other the list to combine with
+   */
+  public void xor(BitList other) {
+    int common = Math.min(wordsInUse(), other.wordsInUse());
+    for (int w = 0; w < common; w++) {
+      words[w] ^= other.words[w];
+    }
+    clearUnusedBits();
+  }
+
+  /**
+   * Clears every bit of this list that is set in the other list.
+   *
+   * @param other the list to combine with
+   */
+  public void andNot(BitList other) {
+    int common = Math.min(wordsInUse(), other.wordsInUse());
+    for (int w = 0; w < common; w++) {
+      words[w] &= ~other.words[w];
+    }
+  }
+
+  /**
+   * Removes all the bits from this list.
+   */
+  public void clear() {
+    Arrays.fill(words, 0, wordsInUse(), 0);
+    size = 0;
+  }
+
+  /**
+   * Returns a string representation of this list as a sequence of {@code 0} and {@code 1}.
+   *
+   * @return a string representation of this list
+   */
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder(size);
+    for (int i = 0; i < size; i++) {
+      sb.append(getBit(i) ? '1' : '0');
+    }
+    return sb.toString();
+  }
+
+  private static int wordIndex(int bitIndex) {
+    return bitIndex >>> ADDRESS_BITS;
+  }
+
+  private int wordsInUse() {
+    return wordIndex(size + WORD_MASK);
+  }
+
+  private void clearUnusedBits() {
+    if ((size & WORD_MASK) != 0) {
+      words[wordIndex(size)] &= (1L << size) - 1;
+    }
+  }
+
+  private void ensureCapacity(int minBits) {
+    int minWords = wordIndex(minBits + WORD_MASK);
+    if (minWords > words.length) {
+      int newCapacity = Math.max(minWords, (words.length * 3) / 2 + 1);
+      words = Arrays.copyOf(words, newCapacity);
+    }
+  }
+
+  private void checkIndexForAdd(int index) {
+    if (index > size || index < 0) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package by.russianzak.customarraylist.CustomArrayList;
+
+import java.util.Objects;
+
+/**
+ * A Bloom filter over the hash codes of objects. Membership answers are "definitely absent" or
+ * "possibly present"; bits are never cleared, so entries cannot be removed. Bit positions are
+ * derived from two halves of a 64-bit mix of {@link Object#hashCode()} by double hashing.
+ */
+final class BloomFilter {
+
+  private final long[] bits;
+  private final long bitCount;
+  private final int hashCount;
+  private final int expectedInsertions;
+  private int insertions;
+
+  BloomFilter(int expectedInsertions, double falsePositiveRate) {
+    this.expectedInsertions = Math.max(1, expectedInsertions);
+    double ln2 = Math.log(2);
+    long optimalBits = (long) Math.ceil(
+        -this.expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+    int words = (int) Math.max(1, (optimalBits + Long.SIZE - 1) / Long.SIZE);
+    this.bits = new long[words];
+    this.bitCount = (long) words * Long.SIZE;
+    this.hashCount = (int) Math.max(1,
+        Math.round((double) bitCount / this.expectedInsertions * ln2));
+  }
+
+  void put(Object o) {
+    long hash = mix(Objects.hashCode(o));
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 1; i <= hashCount; i++) {
+      long bit = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bitCount;
+      bits[(int) (bit >>> 6)] |= 1L << bit;
+    }
+    insertions++;
+  }
+
+  boolean mightContain(Object o) {
+    long hash = mix(Objects.hashCode(o));
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 1; i <= hashCount; i++) {
+      long bit = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bitCount;
+      if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  int insertions() {
+    return insertions;
+  }
+
+  int expectedInsertions() {
+    return expectedInsertions;
+  }
+
+  long sizeInBytes() {
+    return (long) bits.length * Long.BYTES;
+  }
+
+  private static long mix(int hashCode) {
+    long h = hashCode * 0x9E3779B97F4A7C15L;
+    h ^= h >>> 33;
+    h *= 0xFF51AFD7ED558CCDL;
+    h ^= h >>> 33;
+    h *= 0xC4CEB9FE1A85EC53L;
+    return h ^ (h >>> 33);
+  }
+}
@@ -0,0 +1,702 @@
+package by.russianzak.customarraylist.CustomArrayList;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.DoubleSummaryStatistics;
+import java.util.IntSummaryStatistics;
+import java.util.LongSummaryStatistics;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.DoublePredicate;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+
+/**
+ * ColumnarList stores records in struct-of-arrays form: each component of the record type is kept
+ * in its own column, a primitive array for {@code int}, {@code long} and {@code double}
+ * components and an object array for everything else. Scans over one component read only that
+ * column. Rows can be materialized back into records or read in place through a reusable
+ * {@link Row} flyweight.
+ *
+ * @param <R> the record type stored in this list
+ */
+public class ColumnarList<R extends Record> {
+
+  private static final int INITIAL_CAPACITY = 10;
+
+  private final Class<R> recordType;
+  private final String[] names;
+  private final MethodHandle[] accessors;
+  private final Constructor<R> constructor;
+  private final Column[] columns;
+  private int capacity;
+  private int size;
+  private int modificationCount;
+
+  /**
+   * Constructs an empty list for the specified record type with an initial capacity of ten.
+   *
+   * @param recordType the record class whose components become columns
+   * @throws NullPointerException if the specified record type is null
+   */
+  public ColumnarList(Class<R> recordType) {
+    this(recordType, INITIAL_CAPACITY);
+  }
+
+  /**
+   * Constructs an empty list for the specified record type with the specified initial capacity.
+   *
+   * @param recordType the record class whose components become columns
+   * @param capacity   the initial capacity of every column
+   * @throws NullPointerException     if the specified record type is null
+   * @throws IllegalArgumentException if the specified initial capacity is negative
+   */
+  public ColumnarList(Class<R> recordType, int capacity) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Illegal capacity: " + capacity);
+    }
+    this.recordType = Objects.requireNonNull(recordType);
+    RecordComponent[] components = recordType.getRecordComponents();
+    names = new String[components.length];
+    accessors = new MethodHandle[components.length];
+    columns = new Column[components.length];
+    Class<?>[] types = new Class<?>[components.length];
+    MethodHandles.Lookup lookup = MethodHandles.lookup();
+    MethodType accessorType = MethodType.methodType(Object.class, Object.class);
+    for (int c = 0; c < components.length; c++) {
+      names[c] = components[c].getName();
+      types[c] = components[c].getType();
+      Method accessor = components[c].getAccessor();
+      accessor.setAccessible(true);
+      try {
+        accessors[c] = lookup.unreflect(accessor).asType(accessorType);
+      } catch (IllegalAccessException e) {
+        throw new IllegalStateException(e);
+      }
+      columns[c] = Column.of(types[c], capacity);
+    }
+    try {
+      constructor = recordType.getDeclaredConstructor(types);
+      constructor.setAccessible(true);
+    } catch (NoSuchMethodException e) {
+      throw new IllegalArgumentException("No canonical constructor in " + recordType, e);
+    }
+    this.capacity = capacity;
+  }
+
+  /**
+   * Returns the number of rows in this list.
+   *
+   * @return the number of rows in this list
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Checks if this list is empty.
+   *
+   * @return {@code true} if this list contains no rows, {@code false} otherwise
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the position of the named component among the columns.
+   *
+   * @param name the record component name
+   * @return the column index
+   * @throws IllegalArgumentException if the record type has no such component
+   */
+  public int columnIndex(String name) {
+    for (int c = 0; c < names.length; c++) {
+      if (names[c].equals(name)) {
+        return c;
+      }
+    }
+    throw new IllegalArgumentException("No column " + name + " in " + recordType.getName());
+  }
+
+  /**
+   * Decomposes the specified record into its columns and appends it as a new row.
+   *
+   * @param record the record to be appended
+   * @throws NullPointerException if the specified record is null
+   */
+  public void add(R record) {
+    Objects.requireNonNull(record);
+    if (size == capacity) {
+      increaseCapacity(size + 1);
+    }
+    for (int c = 0; c < columns.length; c++) {
+      columns[c].set(size, read(accessors[c], record));
+    }
+    size++;
+    modificationCount++;
+  }
+
+  /**
+   * Materializes the row at the specified position as a new record.
+   *
+   * @param index the index of the row
+   * @return a new record with the values of the row
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public R get(int index) {
+    Objects.checkIndex(index, size);
+
+    Object[] arguments = new Object[columns.length];
+    for (int c = 0; c < columns.length; c++) {
+      arguments[c] = columns[c].get(index);
+    }
+    try {
+      return constructor.newInstance(arguments);
+    } catch (InstantiationException | IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    } catch (InvocationTargetException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * Returns the {@code int} value of the specified column at the specified row.
+   *
+   * @param index  the index of the row
+   * @param column the index of an {@code int} column
+   * @return the value at the row and column
+   * @throws IndexOutOfBoundsException if the row or column is out of range
+   * @throws ClassCastException        if the column is not an {@code int} column
+   */
+  public int getInt(int index, int column) {
+    Objects.checkIndex(index, size);
+    return ((IntColumn) columns[column]).values[index];
+  }
+
+  /**
+   * Returns the {@code long} value of the specified column at the specified row.
+   *
+   * @param index  the index of the row
+   * @param column the index of a {@code long} column
+   * @return the value at the row and column
+   * @throws IndexOutOfBoundsException if the row or column is out of range
+   * @throws ClassCastException        if the column is not a {@code long} column
+   */
+  public long getLong(int index, int column) {
+    Objects.checkIndex(index, size);
+    return ((LongColumn) columns[column]).values[index];
+  }
+
+  /**
+   * Returns the {@code double} value of the specified column at the specified row.
+   *
+   * @param index  the index of the row
+   * @param column the index of a {@code double} column
+   * @return the value at the row and column
+   * @throws IndexOutOfBoundsException if the row or column is out of range
+   * @throws ClassCastException        if the column is not a {@code double} column
+   */
+  public double getDouble(int index, int column) {
+    Objects.checkIndex(index, size);
+    return ((DoubleColumn) columns[column]).values[index];
+  }
+
+  /**
+   * Returns the value of the specified column at the specified row, boxing primitives.
+   *
+   * @param index  the index of the row
+   * @param column the index of the column
+   * @return the value at the row and column
+   * @throws IndexOutOfBoundsException if the row or column is out of range
+   */
+  public Object getObject(int index, int column) {
+    Objects.checkIndex(index, size);
+    return columns[column].get(index);
+  }
+
+  /**
+   * Returns a flyweight positioned at the first row. The same instance can be moved over any
+   * number of rows without allocating.
+   *
+   * @return a new row cursor
+   */
+  public Row cursor() {
+    return new Row();
+  }
+
+  /**
+   * Passes every row to the action through a single reused flyweight. The action must not keep a
+   * reference to the row beyond the call.
+   *
+   * @param action the action to be performed for each row
+   * @throws NullPointerException            if the specified action is null
+   * @throws ConcurrentModificationException if the list was modified during the call
+   */
+  public void forEachRow(Consumer<? super Row> action) {
+    Objects.requireNonNull(action);
+
+    final int expectedModCount = modificationCount;
+    Row row = new Row();
+    for (int i = 0; modificationCount == expectedModCount && i < size; i++) {
+      action.accept(row.moveTo(i));
+    }
+    if (modificationCount != expectedModCount) {
+      throw new ConcurrentModificationException();
+    }
+  }
+
+  /**
+   * Returns the indices of the rows whose value in the named {@code int} column matches.
+   *
+   * @param column    the name of an {@code int} column
+   * @param predicate the predicate to apply to each value
+   * @return the matching row indices in ascending order
+   */
+  public int[] filterInt(String column, IntPredicate predicate) {
+    int[] values = ((IntColumn) columns[columnIndex(column)]).values;
+    int[] matches = new int[size];
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      if (predicate.test(values[i])) {
+        matches[count++] = i;
+      }
+    }
+    return Arrays.copyOf(matches, count);
+  }
+
+  /**
+   * Returns the indices of the rows whose value in the named {@code long} column matches.
+   *
+   * @param column    the name of a {@code long} column
+   * @param predicate the predicate to apply to each value
+   * @return the matching row indices in ascending order
+   */
+  public int[] filterLong(String column, LongPredicate predicate) {
+    long[] values = ((LongColumn) columns[columnIndex(column)]).values;
+    int[] matches = new int[size];
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      if (predicate.test(values[i])) {
+        matches[count++] = i;
+      }
+    }
+    return Arrays.copyOf(matches, count);
+  }
+
+  /**
+   * Returns the indices of the rows whose value in the named {@code double} column matches.
+   *
+   * @param column    the name of a {@code double} column
+   * @param predicate the predicate to apply to each value
+   * @return the matching row indices in ascending order
+   */
+  public int[] filterDouble(String column, DoublePredicate predicate) {
+    double[] values = ((DoubleColumn) columns[columnIndex(column)]).values;
+    int[] matches = new int[size];
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      if (predicate.test(values[i])) {
+        matches[count++] = i;
+      }
+    }
+    return Arrays.copyOf(matches, count);
+  }
+
+  /**
+   * Returns count, sum, min, max and average of the named {@code int} column in one scan.
+   *
+   * @param column the name of an {@code int} column
+   * @return the statistics of the column
+   */
+  public IntSummaryStatistics intStatistics(String column) {
+    int[] values = ((IntColumn) columns[columnIndex(column)]).values;
+    IntSummaryStatistics statistics = new IntSummaryStatistics();
+    for (int i = 0; i < size; i++) {
+      statistics.accept(values[i]);
+    }
+    return statistics;
+  }
+
+  /**
+   * Returns count, sum, min, max and average of the named {@code long} column in one scan.
+   *
+   * @param column the name of a {@code long} column
+   * @return the statistics of the column
+   */
+  public LongSummaryStatistics longStatistics(String column) {
+    long[] values = ((LongColumn) columns[columnIndex(column)]).values;
+    LongSummaryStatistics statistics = new LongSummaryStatistics();
+    for (int i = 0; i < size; i++) {
+      statistics.accept(values[i]);
+    }
+    return statistics;
+  }
+
+  /**
+   * Returns count, sum, min, max and average of the named {@code double} column in one scan.
+   *
+   * @param column the name of a {@code double} column
+   * @return the statistics of the column
+   */
+  public DoubleSummaryStatistics doubleStatistics(String column) {
+    double[] values = ((DoubleColumn) columns[columnIndex(column)]).values;
+    DoubleSummaryStatistics statistics = new DoubleSummaryStatistics();
+    for (int i = 0; i < size; i++) {
+      statistics.accept(values[i]);
+    }
+    return statistics;
+  }
+
+  /**
+   * Sorts the rows by the natural order of the named column. The order is computed once from
+   * that column alone and the same permutation is then applied to every column. Primitive
+   * columns are ordered with a stable radix sort; object columns must hold mutually
+   * {@link Comparable} values and are ordered with a stable merge sort.
+   *
+   * @param column the name of the column to sort by
+   * @throws ClassCastException if an object column holds values that are not comparable
+   */
+  public void sortByColumn(String column) {
+    applyOrder(columns[columnIndex(column)].sortedOrder(size));
+  }
+
+  /**
+   * Sorts the rows by the named column using the specified comparator on its boxed values, and
+   * applies the resulting permutation to every column. The sort is stable.
+   *
+   * @param column     the name of the column to sort by
+   * @param comparator the comparator to determine the order of the values
+   * @param <C>        the type of the column's values
+   * @throws NullPointerException if the specified comparator is null
+   * @throws ClassCastException   if the column holds values the comparator cannot compare
+   */
+  @SuppressWarnings("unchecked")
+  public <C> void sortByColumn(String column, Comparator<? super C> comparator) {
+    Objects.requireNonNull(comparator);
+    Column key = columns[columnIndex(column)];
+    applyOrder(key.sortedOrder(size, (Comparator<Object>) comparator));
+  }
+
+  /**
+   * Removes all the rows from this list.
+   */
+  public void clear() {
+    for (Column column : columns) {
+      column.clear(size);
+    }
+    size = 0;
+    modificationCount++;
+  }
+
+  private void applyOrder(int[] order) {
+    for (Column column : columns) {
+      column.permute(order, size);
+    }
+    modificationCount++;
+  }
+
+  private void increaseCapacity(int minCapacity) {
+    int newCapacity = Math.max(minCapacity, (capacity * 3) / 2 + 1);
+    for (Column column : columns) {
+      column.resize(newCapacity);
+    }
+    capacity = newCapacity;
+    modificationCount++;
+  }
+
+  private static Object read(MethodHandle accessor, Object record) {
+    try {
+      return accessor.invokeExact(record);
+    } catch (Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * A movable flyweight over one row of the enclosing list.
+   */
+  public final class Row {
+
+    private int index;
+
+    private Row() {
+    }
+
+    /**
+     * Positions this flyweight at the specified row.
+     *
+     * @param index the index of the row
+     * @return this row
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public Row moveTo(int index) {
+      Objects.checkIndex(index, size);
+      this.index = index;
+      return this;
+    }
+
+    /**
+     * Returns the index of the row this flyweight is positioned at.
+     *
+     * @return the current row index
+     */
+    public int index() {
+      return index;
+    }
+
+    /**
+     * Returns the value of the specified {@code int} column in this row.
+     *
+     * @param column the index of an {@code int} column
+     * @return the value in this row
+     */
+    public int getInt(int column) {
+      return ColumnarList.this.getInt(index, column);
+    }
+
+    /**
+     * Returns the value of the specified {@code long} column in this row.
+     *
+     * @param column the index of a {@code long} column
+     * @return the value in this row
+     */
+    public long getLong(int column) {
+      return ColumnarList.this.getLong(index, column);
+    }
+
+    /**
+     * Returns the value of the specified {@code double} column in this row.
+     *
+     * @param column the index of a {@code double} column
+     * @return the value in this row
+     */
+    public double getDouble(int column) {
+      return ColumnarList.this.getDouble(index, column);
+    }
+
+    /**
+     * Returns the value of the specified column in this row, boxing primitives.
+     *
+     * @param column the index of the column
+     * @return the value in this row
+     */
+    public Object getObject(int column) {
+      return ColumnarList.this.getObject(index, column);
+    }
+
+    /**
+     * Materializes this row as a new record.
+     *
+     * @return a new record with the values of this row
+     */
+    public R toRecord() {
+      return ColumnarList.this.get(index);
+    }
+  }
+
+  private abstract static class Column {
+
+    static Column of(Class<?> type, int capacity) {
+      if (type == int.class) {
+        return new IntColumn(capacity);
+      }
+      if (type == long.class) {
+        return new LongColumn(capacity);
+      }
+      if (type == double.class) {
+        return new DoubleColumn(capacity);
+      }
+      return new ObjectColumn(capacity);
+    }
+
+    abstract Object get(int index);
+
+    abstract void set(int index, Object value);
+
+    abstract void resize(int capacity);
+
+    abstract void permute(int[] order, int size);
+
+    abstract int[] sortedOrder(int size);
+
+    int[] sortedOrder(int size, Comparator<Object> comparator) {
+      return IndexSort.sortedOrder(size, (a, b) -> comparator.compare(get(a), get(b)));
+    }
+
+    void clear(int size) {
+    }
+  }
+
+  private static final class IntColumn extends Column {
+
+    private int[] values;
+
+    IntColumn(int capacity) {
+      values = new int[capacity];
+    }
+
+    @Override
+    Object get(int index) {
+      return values[index];
+    }
+
+    @Override
+    void set(int index, Object value) {
+      values[index] = (Integer) value;
+    }
+
+    @Override
+    void resize(int capacity) {
+      values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    void permute(int[] order, int size) {
+      int[] sorted = new int[values.length];
+      for (int i = 0; i < size; i++) {
+        sorted[i] = values[order[i]];
+      }
+      values = sorted;
+    }
+
+    @Override
+    int[] sortedOrder(int size) {
+      return RadixSort.sortedOrder(Arrays.copyOf(values, size), false);
+    }
+  }
+
+  private static final class LongColumn extends Column {
+
+    private long[] values;
+
+    LongColumn(int capacity) {
+      values = new long[capacity];
+    }
+
+    @Override
+    Object get(int index) {
+      return values[index];
+    }
+
+    @Override
+    void set(int index, Object value) {
+      values[index] = (Long) value;
+    }
+
+    @Override
+    void resize(int capacity) {
+      values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    void permute(int[] order, int size) {
+      long[] sorted = new long[values.length];
+      for (int i = 0; i < size; i++) {
+        sorted[i] = values[order[i]];
+      }
+      values = sorted;
+    }
+
+    @Override
+    int[] sortedOrder(int size) {
+      return RadixSort.sortedOrder(Arrays.copyOf(values, size), false);
+    }
+  }
+
+  private static final class DoubleColumn extends Column {
+
+    private double[] values;
+
+    DoubleColumn(int capacity) {
+      values = new double[capacity];
+    }
+
+    @Override
+    Object get(int index) {
+      return values[index];
+    }
+
+    @Override
+    void set(int index, Object value) {
+      values[index] = (Double) value;
+    }
+
+    @Override
+    void resize(int capacity) {
+      values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    void permute(int[] order, int size) {
+      double[] sorted = new double[values.length];
+      for (int i = 0; i < size; i++) {
+        sorted[i] = values[order[i]];
+      }
+      values = sorted;
+    }
+
+    @Override
+    int[] sortedOrder(int size) {
+      long[] keys = new long[size];
+      for (int i = 0; i < size; i++) {
+        long bits = Double.doubleToLongBits(values[i]);
+        keys[i] = bits ^ ((bits >> 63) & Long.MAX_VALUE);
+      }
+      return RadixSort.sortedOrder(keys, false);
+    }
+  }
+
+  private static final class ObjectColumn extends Column {
+
+    private Object[] values;
+
+    ObjectColumn(int capacity) {
+      values = new Object[capacity];
+    }
+
+    @Override
+    Object get(int index) {
+      return values[index];
+    }
+
+    @Override
+    void set(int index, Object value) {
+      values[index] = value;
+    }
+
+    @Override
+    void resize(int capacity) {
+      values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    void permute(int[] order, int size) {
+      Object[] sorted = new Object[values.length];
+      for (int i = 0; i < size; i++) {
+        sorted[i] = values[order[i]];
+      }
+      values = sorted;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    int[] sortedOrder(int size) {
+      return sortedOrder(size, (a, b) -> ((Comparable<Object>) a).compareTo(b));
+    }
+
+    @Override
+    void clear(int size) {
+      Arrays.fill(values, 0, size, null);
+    }
+  }
+}
@@ -0,0 +1,391 @@
+package by.russianzak.customarraylist.CustomArrayList;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+
+/**
+ * CompressedLongList is an append-friendly list of {@code long} values stored in bit-packed blocks
+ * of {@value #BLOCK_SIZE}. Appends go to an uncompressed tail block, which is sealed once full.
+ * Each sealed block is encoded with whichever of two schemes needs fewer bits per value:
+ * <ul>
+ *   <li>frame of reference: values minus the block minimum, suited to clustered values;</li>
+ *   <li>delta: differences between neighbours minus the smallest difference, suited to sorted
+ *   values such as IDs and timestamps. A delta block also packs the running sum of its
+ *   differences at every {@value #CHECKPOINT_INTERVAL}th position, so a random read adds at most
+ *   {@value #CHECKPOINT_INTERVAL} - 1 differences to the nearest checkpoint.</li>
+ * </ul>
+ * Since all blocks but the tail hold exactly {@value #BLOCK_SIZE} values, the block of an index is
+ * found with a shift. Iteration decodes a whole block at a time, and {@link #set(int, long)} on a
+ * sealed block re-encodes only that block.
+ */
+public class CompressedLongList {
+
+  static final int BLOCK_SIZE = 128;
+  private static final int BLOCK_SHIFT = 7;
+  private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+  static final int CHECKPOINT_INTERVAL = 16;
+  private static final int CHECKPOINT_SHIFT = 4;
+  private static final int CHECKPOINT_MASK = CHECKPOINT_INTERVAL - 1;
+  private static final int CHECKPOINTS = BLOCK_SIZE / CHECKPOINT_INTERVAL - 1;
+  private static final int INITIAL_BLOCK_CAPACITY = 10;
+  private static final byte FRAME_OF_REFERENCE = 0;
+  private static final byte DELTA = 1;
+
+  private long[] blockBase;
+  private long[] blockReference;
+  private byte[] blockWidth;
+  private byte[] blockMode;
+  private long[][] blockWords;
+  private long[][] blockCheckpoints;
+  private int blockCount;
+  private final long[] tail;
+  private int tailSize;
+  private int modificationCount;
+
+  /**
+   * Constructs an empty list.
+   */
+  public CompressedLongList() {
+    blockBase = new long[INITIAL_BLOCK_CAPACITY];
+    blockReference = new long[INITIAL_BLOCK_CAPACITY];
+    blockWidth = new byte[INITIAL_BLOCK_CAPACITY];
+    blockMode = new byte[INITIAL_BLOCK_CAPACITY];
+    blockWords = new long[INITIAL_BLOCK_CAPACITY][];
+    blockCheckpoints = new long[INITIAL_BLOCK_CAPACITY][];
+    tail = new long[BLOCK_SIZE];
+  }
+
+  /**
+   * Returns the number of values in this list.
+   *
+   * @return the number of values in this list
+   */
+  public int size() {
+    return (blockCount << BLOCK_SHIFT) + tailSize;
+  }
+
+  /**
+   * Checks if this list is empty.
+   *
+   * @return {@code true} if this list contains no values, {@code false} otherwise
+   */
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Appends the specified value to the end of this list.
+   *
+   * @param value the value to be appended
+   */
+  public void add(long value) {
+    tail[tailSize++] = value;
+    if (tailSize == BLOCK_SIZE) {
+      if (blockCount == blockWords.length) {
+        increaseBlockCapacity(blockCount + 1);
+      }
+      encode(blockCount++, tail);
+      tailSize = 0;
+    }
+    modificationCount++;
+  }
+
+  /**
+   * Returns the value at the specified position in this list.
+   *
+   * @param index the index of the value to be returned
+   * @return the value at the specified position
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public long get(int index) {
+    Objects.checkIndex(index, size());
+
+    int block = index >>> BLOCK_SHIFT;
+    int offset = index & BLOCK_MASK;
+    if (block == blockCount) {
+      return tail[offset];
+    }
+    long[] words = blockWords[block];
+    int width = blockWidth[block];
+    if (blockMode[block] == FRAME_OF_REFERENCE) {
+      return blockBase[block] + unpack(words, width, offset);
+    }
+    long reference = blockReference[block];
+    int checkpoint = offset >>> CHECKPOINT_SHIFT;
+    int start = checkpoint << CHECKPOINT_SHIFT;
+    long value = blockBase[block];
+    if (checkpoint > 0) {
+      value += start * reference
+          + unpack(blockCheckpoints[block], checkpointWidth(width), checkpoint - 1);
+    }
+    for (int j = start + 1; j <= offset; j++) {
+      value += unpack(words, width, j) + reference;
+    }
+    return value;
+  }
+
+  /**
+   * Replaces the value at the specified position. If the position lies in a sealed block, only
+   * that block is decoded and re-encoded.
+   *
+   * @param index the index of the value to replace
+   * @param value the value to be stored at the specified position
+   * @return the value previously at the specified position
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public long set(int index, long value) {
+    Objects.checkIndex(index, size());
+
+    int block = index >>> BLOCK_SHIFT;
+    int offset = index & BLOCK_MASK;
+    if (block == blockCount) {
+      long oldValue = tail[offset];
+      tail[offset] = value;
+      modificationCount++;
+      return oldValue;
+    }
+    long[] values = new long[BLOCK_SIZE];
+    decode(block, values);
+    long oldValue = values[offset];
+    values[offset] = value;
+    encode(block, values);
+    modificationCount++;
+    return oldValue;
+  }
+
+  /**
+   * Performs the given action for each value, decoding one block at a time.
+   *
+   * @param action the action to be performed for each value
+   * @throws NullPointerException            if the specified action is null
+   * @throws ConcurrentModificationException if the list was modified during the iteration
+   */
+  public void forEach(LongConsumer action) {
+    Objects.requireNonNull(action);
+
+    final int expectedModCount = modificationCount;
+    long[] buffer = new long[BLOCK_SIZE];
+    for (int block = 0; block < blockCount; block++) {
+      decode(block, buffer);
+      for (long value : buffer) {
+        action.accept(value);
+      }
+      if (modificationCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+    }
+    for (int j = 0; j < tailSize; j++) {
+      action.accept(tail[j]);
+    }
+    if (modificationCount != expectedModCount) {
+      throw new ConcurrentModificationException();
+    }
+  }
+
+  /**
+   * Returns an iterator over the values in this list, decoding one block at a time.
+   *
+   * @return an iterator over the values in this list
+   */
+  public PrimitiveIterator.OfLong iterator() {
+    return new PrimitiveIterator.OfLong() {
+      private final long[] buffer = new long[BLOCK_SIZE];
+      private final int expectedModCount = modificationCount;
+      private int index;
+
+      @Override
+      public boolean hasNext() {
+        if (modificationCount != expectedModCount) {
+          throw new ConcurrentModificationException();
+        }
+        return index < size();
+      }
+
+      @Override
+      public long nextLong() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        int block = index >>> BLOCK_SHIFT;
+        int offset = index++ & BLOCK_MASK;
+        if (block == blockCount) {
+          return tail[offset];
+        }
+        if (offset == 0) {
+          decode(block, buffer);
+        }
+        return buffer[offset];
+      }
+    };
+  }
+
+  /**
+   * Returns an array containing all the values in this list in proper sequence.
+   *
+   * @return an array containing all the values in this list
+   */
+  public long[] toArray() {
+    long[] result = new long[size()];
+    long[] buffer = new long[BLOCK_SIZE];
+    for (int block = 0; block < blockCount; block++) {
+      decode(block, buffer);
+      System.arraycopy(buffer, 0, result, block << BLOCK_SHIFT, BLOCK_SIZE);
+    }
+    System.arraycopy(tail, 0, result, blockCount << BLOCK_SHIFT, tailSize);
+    return result;
+  }
+
+  /**
+   * Returns an estimate of the heap bytes used by the packed words, block headers and the tail.
+   *
+   * @return the approximate memory footprint of the stored values
+   */
+  public long compressedSizeInBytes() {
+    long bytes = (long) tail.length * Long.BYTES;
+    for (int block = 0; block < blockCount; block++) {
+      bytes += (long) blockWords[block].length * Long.BYTES + 2L * Long.BYTES + 2;
+      if (blockCheckpoints[block] != null) {
+        bytes += (long) blockCheckpoints[block].length * Long.BYTES;
+      }
+    }
+    return bytes;
+  }
+
+  /**
+   * Removes all the values from this list.
+   */
+  public void clear() {
+    Arrays.fill(blockWords, 0, blockCount, null);
+    Arrays.fill(blockCheckpoints, 0, blockCount, null);
+    blockCount = 0;
+    tailSize = 0;
+    modificationCount++;
+  }
+
+  private void encode(int block, long[] values) {
+    long min = values[0];
+    long max = values[0];
+    long minDelta = Long.MAX_VALUE;
+    long maxDelta = Long.MIN_VALUE;
+    for (int j = 1; j < BLOCK_SIZE; j++) {
+      min = Math.min(min, values[j]);
+      max = Math.max(max, values[j]);
+      long delta = values[j] - values[j - 1];
+      minDelta = Math.min(minDelta, delta);
+      maxDelta = Math.max(maxDelta, delta);
+    }
+    int forWidth = bitsFor(max - min);
+    int deltaWidth = bitsFor(maxDelta - minDelta);
+
+    int width;
+    long[] words;
+    if (deltaWidth < forWidth) {
+      width = deltaWidth;
+      words = new long[wordsFor(width)];
+      for (int j = 1; j < BLOCK_SIZE; j++) {
+        pack(words, width, j, values[j] - values[j - 1] - minDelta);
+      }
+      int checkpointWidth = checkpointWidth(width);
+      long[] checkpoints = new long[(CHECKPOINTS * checkpointWidth + Long.SIZE - 1) / Long.SIZE];
+      long runningSum = 0;
+      for (int j = 1; j < BLOCK_SIZE; j++) {
+        runningSum += values[j] - values[j - 1] - minDelta;
+        if ((j & CHECKPOINT_MASK) == 0) {
+          pack(checkpoints, checkpointWidth, (j >>> CHECKPOINT_SHIFT) - 1, runningSum);
+        }
+      }
+      blockMode[block] = DELTA;
+      blockBase[block] = values[0];
+      blockReference[block] = minDelta;
+      blockCheckpoints[block] = checkpoints;
+    } else {
+      width = forWidth;
+      words = new long[wordsFor(width)];
+      for (int j = 0; j < BLOCK_SIZE; j++) {
+        pack(words, width, j, values[j] - min);
+      }
+      blockMode[block] = FRAME_OF_REFERENCE;
+      blockBase[block] = min;
+      blockReference[block] = 0;
+      blockCheckpoints[block] = null;
+    }
+    blockWidth[block] = (byte) width;
+    blockWords[block] = words;
+  }
+
+  private void decode(int block, long[] out) {
+    long[] words = blockWords[block];
+    int width = blockWidth[block];
+    long base = blockBase[block];
+    if (blockMode[block] == FRAME_OF_REFERENCE) {
+      for (int j = 0; j < BLOCK_SIZE; j++) {
+        out[j] = base + unpack(words, width, j);
+      }
+      return;
+    }
+    long reference = blockReference[block];
+    long value = base;
+    out[0] = value;
+    for (int j = 1; j < BLOCK_SIZE; j++) {
+      value += unpack(words, width, j) + reference;
+      out[j] = value;
+    }
+  }
+
+  private static int bitsFor(long unsignedRange) {
+    return Long.SIZE - Long.numberOfLeadingZeros(unsignedRange);
+  }
+
+  /**
+   * Returns the bits needed for a running sum of up to {@value #BLOCK_SIZE} differences of the
+   * given width. Sums wider than a long wrap, which the modular decoding arithmetic tolerates.
+   */
+  private static int checkpointWidth(int width) {
+    return Math.min(Long.SIZE, width + BLOCK_SHIFT);
+  }
+
+  private static int wordsFor(int width) {
+    return (BLOCK_SIZE * width + Long.SIZE - 1) / Long.SIZE;
+  }
+
+  private static void pack(long[] words, int width, int position, long value) {
+    if (width == 0) {
+      return;
+    }
+    long bit = (long) position * width;
+    int word = (int) (bit >>> 6);
+    int shift = (int) (bit & 63);
+    words[word] |= value << shift;
+    if (shift + width > Long.SIZE) {
+      words[word + 1] |= value >>> (Long.SIZE - shift);
+    }
+  }
+
+  private static long unpack(long[] words, int width, int position) {
+    if (width == 0) {
+      return 0;
+    }
+    long bit = (long) position * width;
+    int word = (int) (bit >>> 6);
+    int shift = (int) (bit & 63);
+    long value = words[word] >>> shift;
+    if (shift + width > Long.SIZE) {
+      value |= words[word + 1] << (Long.SIZE - shift);
+    }
+    return width == Long.SIZE ? value : value & ((1L << width) - 1);
+  }
+
+  private void increaseBlockCapacity(int minCapacity) {
+    int newCapacity = Math.max(minCapacity, (blockWords.length * 3) / 2 + 1);
+    blockBase = Arrays.copyOf(blockBase, newCapacity);
+    blockReference = Arrays.copyOf(blockReference, newCapacity);
+    blockWidth = Arrays.copyOf(blockWidth, newCapacity);
+    blockMode = Arrays.copyOf(blockMode, newCapacity);
+    blockWords = Arrays.copyOf(blockWords, newCapacity);
+    blockCheckpoints = Arrays.copyOf(blockCheckpoints, newCapacity);
+  }
+}
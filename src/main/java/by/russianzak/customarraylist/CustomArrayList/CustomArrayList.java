@@ -10,7 +10,19 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
 
 /**
  * CustomArrayList is a custom implementation of the {@link List} interface that provides a dynamic
@@ -21,9 +33,16 @@ import java.util.function.Consumer;
 public class CustomArrayList<T> extends AbstractList<T> implements List<T> {
 
   private static final int INITIAL_CAPACITY = 10;
+  private static final int DEFAULT_PARALLEL_GRANULARITY = 1 << 13;
   private Object[] elements;
   private int size;
   private int modificationCount;
+  private boolean frozen;
+  private Interner interner;
+  private BloomFilter membershipFilter;
+  private double filterFalsePositiveRate;
+  private int filterStaleCount;
+  private volatile HashSnapshot hashSnapshot;
 
   /**
    * Constructs an empty list with an initial capacity of ten.
@@ -90,8 +109,12 @@ public class CustomArrayList<T> extends AbstractList<T> implements List<T> {
    */
   @Override
   public int indexOf(Object o) {
+    if (definitelyAbsent(o)) {
+      return -1;
+    }
+    o = canonicalProbe(o);
     for (int i = 0; i < size; i++) {
-      if (o == null && elements[i] == null || o != null && o.equals(elements[i])) {
+      if (elements[i] == o || o != null && o.equals(elements[i])) {
         return i;
       }
     }
@@ -108,8 +131,12 @@ public class CustomArrayList<T> extends AbstractList<T> implements List<T> {
    */
   @Override
   public int lastIndexOf(Object o) {
+    if (definitelyAbsent(o)) {
+      return -1;
+    }
+    o = canonicalProbe(o);
     for (int i = size - 1; i >= 0; i--) {
-      if (o == null && elements[i] == null || o != null && o.equals(elements[i])) {
+      if (elements[i] == o || o != null && o.equals(elements[i])) {
         return i;
       }
     }
@@ -172,10 +199,15 @@ public class CustomArrayList<T> extends AbstractList<T> implements List<T> {
    */
   @Override
   public T set(int index, T element) {
+    checkNotFrozen();
     Objects.checkIndex(index, size);
 
     T oldValue = get(index);
-    elements[index] = element;
+    elements[index] = canonical(element);
+    filterAdd(element);
+    filterStaleCount++;
+    maintainFilter();
+    hashSnapshot = null;
     return oldValue;
   }
 
@@ -187,11 +219,19 @@ public class CustomArrayList<T> extends AbstractList<T> implements List<T> {
    */
   @Override
   public boolean add(T element) {
+    checkNotFrozen();
+    HashSnapshot hashBefore = currentHash();
     if (size == elements.length) {
       increaseCapacity(size + 1);
     }
-    elements[size++] = element;
+    elements[size++] = canonical(element);
+    filterAdd(element);
+    maintainFilter();
     modificationCount++;
+    if (hashBefore != null) {
+      hashSnapshot = new HashSnapshot(hashRange(hashBefore.hash, size - 1, size),
+          modificationCount);
+    }
     return true;
   }
 
@@ -204,14 +244,17 @@ public class CustomArrayList<T> extends AbstractList<T> implements List<T> {
    */
   @Override
   public void add(int index, T element) {
+    checkNotFrozen();
     checkIndexForAdd(index);
 
     if (size == elements.length) {
       increaseCapacity(size + 1);
     }
     System.arraycopy(elements, index, elements, index + 1, size - index);
-    elements[index] = element;
+    elements[index] = canonical(element);
+    filterAdd(element);
     size++;
+    maintainFilter();
     modificationCount++;
   }
 
@@ -236,20 +279,27 @@ public class CustomArrayList<T> extends AbstractList<T> implements List<T> {
    */
   @Override
   public boolean addAll(int index, Collection<? extends T> c) {
+    checkNotFrozen();
     checkIndexForAdd(index);
 
     if (c.isEmpty()) {
       return false;
     }
 
+    HashSnapshot hashBefore = index == size ? currentHash() : null;
     ensureCapacity(size + c.size());
     System.arraycopy(elements, index, elements, index + c.size(), size - index);
     int i = index;
     for (T element : c) {
-      elements[i++] = element;
+      elements[i++] = canonical(element);
+      filterAdd(element);
     }
     size += c.size();
+    maintainFilter();
     modificationCount++;
+    if (hashBefore != null) {
+      hashSnapshot = new HashSnapshot(hashRange(hashBefore.hash, index, size), modificationCount);
+    }
     return true;
   }
 
@@ -261,6 +311,9 @@ public class CustomArrayList<T> extends AbstractList<T> implements List<T> {
    */
   @Override
   public boolean remove(Object o) {
+    if (definitelyAbsent(o)) {
+      return false;
+    }
     Iterator<T> iterator = iterator();
     while (iterator.hasNext()) {
       T current = iterator.next();
@@ -281,16 +334,199 @@ public class CustomArrayList<T> extends AbstractList<T> implements List<T> {
    */
   @Override
   public T remove(int index) {
+    checkNotFrozen();
     Objects.checkIndex(index, size);
 
     T removedElement = get(index);
     System.arraycopy(elements, index + 1, elements, index, size - index - 1);
     elements[--size] = null;
+    filterStaleCount++;
+    maintainFilter();
     modificationCount++;
     return removedElement;
   }
 
 
+  /**
+   * Removes from this list all the elements whose index is between {@code fromIndex}, inclusive,
+   * and {@code toIndex}, exclusive, with a single shift of the tail.
+   *
+   * @param fromIndex the index of the first element to be removed
+   * @param toIndex   the index after the last element to be removed
+   * @throws IndexOutOfBoundsException if {@code fromIndex} or {@code toIndex} is out of range
+   * @throws IllegalArgumentException  if {@code fromIndex} is greater than {@code toIndex}
+   */
+  @Override
+  public void removeRange(int fromIndex, int toIndex) {
+    checkNotFrozen();
+    subListRangeCheck(fromIndex, toIndex, size);
+
+    if (fromIndex == toIndex) {
+      return;
+    }
+    System.arraycopy(elements, toIndex, elements, fromIndex, size - toIndex);
+    truncate(size - (toIndex - fromIndex));
+  }
+
+  /**
+   * Inserts each value before the element currently at the corresponding position, or at the end
+   * of the list if the position equals the size. Positions refer to the list as it is before the
+   * call; values sharing a position are inserted in the order they are given. The capacity is
+   * increased at most once and every element is moved at most once.
+   *
+   * @param positions the positions, relative to the current list, to insert before
+   * @param values    the values to insert
+   * @throws IllegalArgumentException  if the arrays differ in length
+   * @throws IndexOutOfBoundsException if a position is out of range
+   * @throws NullPointerException      if either array is null
+   */
+  public void insertAll(int[] positions, T[] values) {
+    checkNotFrozen();
+    if (positions.length != values.length) {
+      throw new IllegalArgumentException("positions.length(" + positions.length
+          + ") != values.length(" + values.length + ")");
+    }
+    int count = positions.length;
+    if (count == 0) {
+      return;
+    }
+
+    long[] order = new long[count];
+    for (int i = 0; i < count; i++) {
+      checkIndexForAdd(positions[i]);
+      order[i] = (long) positions[i] << 32 | i;
+    }
+    Arrays.sort(order);
+
+    ensureCapacity(size + count);
+    int read = size - 1;
+    int write = size + count - 1;
+    for (int n = count - 1; n >= 0; n--) {
+      int position = (int) (order[n] >>> 32);
+      while (read >= position) {
+        elements[write--] = elements[read--];
+      }
+      elements[write--] = canonical(values[(int) order[n]]);
+    }
+    size += count;
+    elementsReplaced();
+    modificationCount++;
+  }
+
+  /**
+   * Removes the elements at the specified indices in a single compacting pass. Indices refer to
+   * the list as it is before the call and may be given in any order; duplicates are ignored.
+   *
+   * @param indices the indices of the elements to remove
+   * @throws IndexOutOfBoundsException if an index is out of range
+   * @throws NullPointerException      if the specified array is null
+   */
+  public void removeAt(int[] indices) {
+    checkNotFrozen();
+    if (indices.length == 0) {
+      return;
+    }
+    int[] sorted = indices.clone();
+    Arrays.sort(sorted);
+    Objects.checkIndex(sorted[0], size);
+    Objects.checkIndex(sorted[sorted.length - 1], size);
+
+    int write = sorted[0];
+    int next = 0;
+    for (int read = sorted[0]; read < size; read++) {
+      if (next < sorted.length && sorted[next] == read) {
+        while (next < sorted.length && sorted[next] == read) {
+          next++;
+        }
+      } else {
+        elements[write++] = elements[read];
+      }
+    }
+    truncate(write);
+  }
+
+  /**
+   * Returns an edit script that turns the old list into the new one. Common runs are found with
+   * Myers' diff in linear space, with large inputs first split at elements that occur exactly
+   * once in both lists. For lists that mostly agree, the running time and the size of the patch
+   * grow with the number of changed elements rather than with the size of the lists.
+   *
+   * @param oldList the list the patch applies to
+   * @param newList the list the patch produces
+   * @param <T>     the type of elements in the lists
+   * @return a patch turning {@code oldList} into {@code newList}
+   * @throws NullPointerException if either list is null
+   */
+  public static <T> ListPatch<T> diff(List<? extends T> oldList, List<? extends T> newList) {
+    Objects.requireNonNull(oldList);
+    Objects.requireNonNull(newList);
+
+    return ListDiff.diff(oldList, newList);
+  }
+
+  /**
+   * Applies the patch to this list in a single pass. Elements before the first run are never
+   * moved. When the running size change over the runs never changes sign, elements are shifted in
+   * place, and stretches between runs that end up at their old positions are not touched;
+   * otherwise one new backing array is filled.
+   *
+   * @param patch the patch to apply
+   * @throws IllegalArgumentException if the patch was computed for a list of a different size
+   * @throws NullPointerException     if the specified patch is null
+   */
+  public void applyPatch(ListPatch<? extends T> patch) {
+    checkNotFrozen();
+    if (patch.oldSize() != size) {
+      throw new IllegalArgumentException("Patch size: " + patch.oldSize() + ", Size: " + size);
+    }
+    int runs = patch.runCount();
+    if (runs == 0) {
+      return;
+    }
+
+    int[] positions = patch.positions();
+    int[] deleteCounts = patch.deleteCounts();
+    int[] insertOffsets = patch.insertOffsets();
+    boolean forwardSafe = true;
+    boolean backwardSafe = true;
+    int delta = 0;
+    for (int run = 0; run < runs; run++) {
+      delta += insertOffsets[run + 1] - insertOffsets[run] - deleteCounts[run];
+      forwardSafe &= delta <= 0;
+      backwardSafe &= delta >= 0;
+    }
+
+    int newSize = patch.newSize();
+    Object[] values = canonicalCopy(patch.values());
+    if (forwardSafe) {
+      applyRunsForward(patch, values, elements);
+      Arrays.fill(elements, newSize, size, null);
+    } else if (backwardSafe) {
+      ensureCapacity(newSize);
+      int read = size;
+      int write = newSize;
+      for (int run = runs - 1; run >= 0; run--) {
+        int end = positions[run] + deleteCounts[run];
+        int tail = read - end;
+        write -= tail;
+        if (write != end) {
+          System.arraycopy(elements, end, elements, write, tail);
+        }
+        int inserted = insertOffsets[run + 1] - insertOffsets[run];
+        write -= inserted;
+        System.arraycopy(values, insertOffsets[run], elements, write, inserted);
+        read = positions[run];
+      }
+    } else {
+      Object[] target = new Object[Math.max(newSize, elements.length)];
+      applyRunsForward(patch, values, target);
+      elements = target;
+    }
+    size = newSize;
+    elementsReplaced();
+    modificationCount++;
+  }
+
   /**
    * Removes from this list all of its elements that are contained in the specified collection.
    *
@@ -345,6 +581,24 @@ public class CustomArrayList<T> extends AbstractList<T> implements List<T> {
     if (this == o) {
       return true;
     }
+    if (o instanceof CustomArrayList<?> other) {
+      if (size != other.size) {
+        return false;
+      }
+      HashSnapshot hash = currentHash();
+      HashSnapshot otherHash = other.currentHash();
+      if (hash != null && otherHash != null && hash.hash != otherHash.hash) {
+        return false;
+      }
+      Object[] otherElements = other.elements;
+      for (int i = 0; i < size; i++) {
+        Object element = elements[i];
+        if (element != otherElements[i] && (element == null || !element.equals(otherElements[i]))) {
+          return false;
+        }
+      }
+      return true;
+    }
     if (!(o instanceof List<?> other)) {
       return false;
     }
@@ -360,17 +614,23 @@ public class CustomArrayList<T> extends AbstractList<T> implements List<T> {
   }
 
   /**
-   * Returns the hash code value for this list.
+   * Returns the hash code value for this list. The value is cached until the list is modified;
+   * appending elements extends the cached value instead of discarding it. Elements must not
+   * change their own hash codes while they are in the list. The cached value is published as one
+   * immutable snapshot, so a frozen list can be hashed from several threads at once.
    *
    * @return the hash code value for this list
    */
   @Override
   public int hashCode() {
-    int result = 1;
-    for (int i = 0; i < size; i++) {
-      result = 31 * result + Objects.hashCode(get(i));
+    HashSnapshot snapshot = currentHash();
+    if (snapshot != null) {
+      return snapshot.hash;
     }
-    return result;
+    int expectedModCount = modificationCount;
+    int hash = hashRange(1, 0, size);
+    hashSnapshot = new HashSnapshot(hash, expectedModCount);
+    return hash;
   }
 
   /**
@@ -378,8 +638,10 @@ public class CustomArrayList<T> extends AbstractList<T> implements List<T> {
    */
   @Override
   public void clear() {
+    checkNotFrozen();
     Arrays.fill(elements, null);
     size = 0;
+    elementsReplaced();
     modificationCount++;
   }
 
@@ -461,6 +723,163 @@ public class CustomArrayList<T> extends AbstractList<T> implements List<T> {
     }
   }
 
+  /**
+   * Performs the given action for each element of the list in parallel on the common fork/join
+   * pool. The order in which elements are processed is unspecified.
+   *
+   * @param action the action to be performed for each element
+   * @throws NullPointerException            if the specified action is null
+   * @throws ConcurrentModificationException if the list was structurally modified during the call
+   */
+  public void parallelForEach(Consumer<? super T> action) {
+    parallelForEach(action, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_GRANULARITY);
+  }
+
+  /**
+   * Performs the given action for each element of the list in parallel on the specified pool.
+   * Ranges no longer than {@code granularity} are processed sequentially by a single task.
+   *
+   * @param action      the action to be performed for each element
+   * @param pool        the pool to run the tasks in
+   * @param granularity the maximum number of elements processed by a single task
+   * @throws NullPointerException            if the specified action or pool is null
+   * @throws IllegalArgumentException        if {@code granularity} is not positive
+   * @throws ConcurrentModificationException if the list was structurally modified during the call
+   */
+  @SuppressWarnings("unchecked")
+  public void parallelForEach(Consumer<? super T> action, ForkJoinPool pool, int granularity) {
+    Objects.requireNonNull(action);
+    runInParallel(pool, granularity, (from, to) -> {
+      for (int i = from; i < to; i++) {
+        action.accept((T) elements[i]);
+      }
+    });
+  }
+
+  /**
+   * Replaces each element of this list with the result of applying the operator to it, in
+   * parallel on the common fork/join pool.
+   *
+   * @param operator the operator to apply to each element
+   * @throws NullPointerException            if the specified operator is null
+   * @throws ConcurrentModificationException if the list was structurally modified during the call
+   */
+  public void parallelReplaceAll(UnaryOperator<T> operator) {
+    parallelReplaceAll(operator, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_GRANULARITY);
+  }
+
+  /**
+   * Replaces each element of this list with the result of applying the operator to it, in
+   * parallel on the specified pool.
+   *
+   * @param operator    the operator to apply to each element
+   * @param pool        the pool to run the tasks in
+   * @param granularity the maximum number of elements processed by a single task
+   * @throws NullPointerException            if the specified operator or pool is null
+   * @throws IllegalArgumentException        if {@code granularity} is not positive
+   * @throws ConcurrentModificationException if the list was structurally modified during the call
+   */
+  @SuppressWarnings("unchecked")
+  public void parallelReplaceAll(UnaryOperator<T> operator, ForkJoinPool pool, int granularity) {
+    Objects.requireNonNull(operator);
+    checkNotFrozen();
+    try {
+      runInParallel(pool, granularity, (from, to) -> {
+        for (int i = from; i < to; i++) {
+          elements[i] = canonical(operator.apply((T) elements[i]));
+        }
+      });
+    } finally {
+      elementsReplaced();
+    }
+  }
+
+  /**
+   * Sets each element of this list to the value computed by the generator for its index, in
+   * parallel on the common fork/join pool.
+   *
+   * @param generator the function computing the element for an index
+   * @throws NullPointerException            if the specified generator is null
+   * @throws ConcurrentModificationException if the list was structurally modified during the call
+   */
+  public void parallelSetAll(IntFunction<? extends T> generator) {
+    parallelSetAll(generator, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_GRANULARITY);
+  }
+
+  /**
+   * Sets each element of this list to the value computed by the generator for its index, in
+   * parallel on the specified pool.
+   *
+   * @param generator   the function computing the element for an index
+   * @param pool        the pool to run the tasks in
+   * @param granularity the maximum number of elements processed by a single task
+   * @throws NullPointerException            if the specified generator or pool is null
+   * @throws IllegalArgumentException        if {@code granularity} is not positive
+   * @throws ConcurrentModificationException if the list was structurally modified during the call
+   */
+  public void parallelSetAll(IntFunction<? extends T> generator, ForkJoinPool pool,
+      int granularity) {
+    Objects.requireNonNull(generator);
+    checkNotFrozen();
+    try {
+      runInParallel(pool, granularity, (from, to) -> {
+        for (int i = from; i < to; i++) {
+          elements[i] = canonical(generator.apply(i));
+        }
+      });
+    } finally {
+      elementsReplaced();
+    }
+  }
+
+  /**
+   * Returns a lazy view whose elements are the results of applying the specified function to the
+   * elements of this list. Nothing is computed until the view is read.
+   *
+   * @param mapper the function to apply to each element
+   * @param <R>    the type of elements in the returned view
+   * @return the mapped view
+   * @throws NullPointerException if the specified mapper is null
+   */
+  public <R> LazyView<R> mapView(Function<? super T, ? extends R> mapper) {
+    return LazyView.of(this).mapView(mapper);
+  }
+
+  /**
+   * Returns a lazy view consisting of the elements of this list that match the specified
+   * predicate. Nothing is computed until the view is read.
+   *
+   * @param predicate the predicate to apply to each element
+   * @return the filtered view
+   * @throws NullPointerException if the specified predicate is null
+   */
+  public LazyView<T> filterView(Predicate<? super T> predicate) {
+    return LazyView.of(this).filterView(predicate);
+  }
+
+  /**
+   * Returns a lazy view consisting of at most the first {@code maxSize} elements of this list.
+   *
+   * @param maxSize the number of elements the view should be limited to
+   * @return the limited view
+   * @throws IllegalArgumentException if {@code maxSize} is negative
+   */
+  public LazyView<T> limitView(int maxSize) {
+    return LazyView.of(this).limitView(maxSize);
+  }
+
+  /**
+   * Returns a lazy view consisting of the elements of this list followed by the elements of the
+   * specified list.
+   *
+   * @param other the list whose elements follow the elements of this list
+   * @return the concatenated view
+   * @throws NullPointerException if the specified list is null
+   */
+  public LazyView<T> concatView(List<? extends T> other) {
+    return LazyView.of(this).concatView(other);
+  }
+
   /**
    * Returns a string representation of this list.
    *
@@ -491,6 +910,7 @@ public class CustomArrayList<T> extends AbstractList<T> implements List<T> {
   @Override
   @SuppressWarnings("unchecked")
   public void sort(Comparator<? super T> comparator) {
+    checkNotFrozen();
     Arrays.sort((T[]) elements, 0, size, comparator);
     modificationCount++;
   }
@@ -505,10 +925,383 @@ public class CustomArrayList<T> extends AbstractList<T> implements List<T> {
    * @throws UnsupportedOperationException if the elements' ordering is found to violate the Comparator contract
    */
   public void quickSort(Comparator<? super T> comparator) {
+    checkNotFrozen();
     quickSort(elements, 0, size - 1, comparator);
     modificationCount++;
   }
 
+  /**
+   * Rearranges this list so that the element at position {@code k} is the one that would be there
+   * if the list were sorted, every element before it compares less than or equal to it, and every
+   * element after it compares greater than or equal to it. Runs in average O(n) using introselect,
+   * falling back to sorting the remaining range if partitioning degenerates.
+   *
+   * @param k          the position whose element is selected
+   * @param comparator the comparator to determine the order of the elements
+   * @throws IndexOutOfBoundsException if {@code k} is out of range
+   * @throws NullPointerException      if the specified comparator is null
+   */
+  public void nthElement(int k, Comparator<? super T> comparator) {
+    Objects.checkIndex(k, size);
+    Objects.requireNonNull(comparator);
+    checkNotFrozen();
+
+    select(k, comparator);
+    modificationCount++;
+  }
+
+  /**
+   * Rearranges this list so that its first {@code k} positions hold the smallest {@code k}
+   * elements in sorted order. The order of the remaining elements is unspecified.
+   *
+   * @param k          the number of leading elements to sort
+   * @param comparator the comparator to determine the order of the elements
+   * @throws IndexOutOfBoundsException if {@code k} is negative or greater than the size
+   * @throws NullPointerException      if the specified comparator is null
+   */
+  @SuppressWarnings("unchecked")
+  public void partialSort(int k, Comparator<? super T> comparator) {
+    checkIndexForAdd(k);
+    Objects.requireNonNull(comparator);
+    checkNotFrozen();
+
+    if (k > 0) {
+      select(k - 1, comparator);
+      Arrays.sort((T[]) elements, 0, k - 1, comparator);
+    }
+    modificationCount++;
+  }
+
+  /**
+   * Returns a new list holding the smallest {@code k} elements of this list in sorted order. This
+   * list is left unchanged; the selection keeps a bounded heap of {@code k} elements and runs in
+   * O(n log k).
+   *
+   * @param k          the number of elements to return
+   * @param comparator the comparator to determine the order of the elements
+   * @return a new sorted list of at most {@code k} elements
+   * @throws IllegalArgumentException if {@code k} is negative
+   * @throws NullPointerException     if the specified comparator is null
+   */
+  @SuppressWarnings("unchecked")
+  public CustomArrayList<T> topK(int k, Comparator<? super T> comparator) {
+    if (k < 0) {
+      throw new IllegalArgumentException("Illegal k: " + k);
+    }
+    Objects.requireNonNull(comparator);
+
+    int limit = Math.min(k, size);
+    CustomArrayList<T> result = new CustomArrayList<>(limit);
+    if (limit == 0) {
+      return result;
+    }
+    PriorityQueue<T> heap = new PriorityQueue<>(limit, comparator.reversed());
+    for (int i = 0; i < size; i++) {
+      T element = (T) elements[i];
+      if (heap.size() < limit) {
+        heap.add(element);
+      } else if (comparator.compare(element, heap.peek()) < 0) {
+        heap.poll();
+        heap.add(element);
+      }
+    }
+    result.size = limit;
+    for (int i = limit - 1; i >= 0; i--) {
+      result.elements[i] = heap.poll();
+    }
+    return result;
+  }
+
+  /**
+   * Removes duplicate elements from this list, keeping the first occurrence of each. Runs in one
+   * pass with a transient open-addressing hash set and compacts the backing array in place.
+   *
+   * @return true if this list changed as a result of the call
+   */
+  public boolean distinct() {
+    return distinct(Function.identity());
+  }
+
+  /**
+   * Removes elements whose extracted key equals the key of an earlier element, keeping the first
+   * occurrence of each key. Runs in one pass and compacts the backing array in place.
+   *
+   * @param keyExtractor the function extracting the key elements are compared by
+   * @return true if this list changed as a result of the call
+   * @throws NullPointerException if the specified key extractor is null
+   */
+  @SuppressWarnings("unchecked")
+  public boolean distinct(Function<? super T, ?> keyExtractor) {
+    Objects.requireNonNull(keyExtractor);
+    checkNotFrozen();
+
+    OpenHashSet seen = new OpenHashSet(size);
+    int kept = 0;
+    for (int i = 0; i < size; i++) {
+      Object element = elements[i];
+      if (seen.add(keyExtractor.apply((T) element))) {
+        elements[kept++] = element;
+      }
+    }
+    return truncate(kept);
+  }
+
+  /**
+   * Removes adjacent duplicate elements from this sorted list in one pass without allocating.
+   * Two elements are duplicates if the comparator considers them equal.
+   *
+   * @param comparator the comparator the list is sorted by
+   * @return true if this list changed as a result of the call
+   * @throws NullPointerException if the specified comparator is null
+   */
+  @SuppressWarnings("unchecked")
+  public boolean distinctSorted(Comparator<? super T> comparator) {
+    Objects.requireNonNull(comparator);
+    checkNotFrozen();
+
+    if (size < 2) {
+      return false;
+    }
+    int kept = 1;
+    for (int i = 1; i < size; i++) {
+      if (comparator.compare((T) elements[kept - 1], (T) elements[i]) != 0) {
+        elements[kept++] = elements[i];
+      }
+    }
+    return truncate(kept);
+  }
+
+  /**
+   * Merges the elements of the specified sorted list into this sorted list in one linear pass.
+   * The capacity is reserved once and the merge runs backwards from the end of the backing
+   * array, so no temporary buffer is needed. Elements of this list precede equal elements of the
+   * other list.
+   *
+   * @param other      the sorted list whose elements are merged into this list
+   * @param comparator the comparator both lists are sorted by
+   * @throws NullPointerException if the specified list or comparator is null
+   */
+  @SuppressWarnings("unchecked")
+  public void mergeSorted(List<? extends T> other, Comparator<? super T> comparator) {
+    Objects.requireNonNull(comparator);
+    checkNotFrozen();
+    Object[] source = other == this ? toArray() : arrayOf(other);
+    int otherSize = other.size();
+    if (otherSize == 0) {
+      return;
+    }
+
+    ensureCapacity(size + otherSize);
+    int i = size - 1;
+    int j = otherSize - 1;
+    int k = size + otherSize - 1;
+    while (j >= 0) {
+      if (i >= 0 && comparator.compare((T) elements[i], (T) source[j]) > 0) {
+        elements[k--] = elements[i--];
+      } else {
+        elements[k--] = canonical((T) source[j--]);
+      }
+    }
+    size += otherSize;
+    elementsReplaced();
+    modificationCount++;
+  }
+
+  /**
+   * Merges any number of sorted lists into a new sorted list using a loser tree, which needs only
+   * about log2(k) comparisons per output element. The merge is stable: equal elements keep the
+   * order of the lists they come from.
+   *
+   * @param lists      the sorted lists to merge
+   * @param comparator the comparator all lists are sorted by
+   * @param <T>        the type of elements in the lists
+   * @return a new list containing all elements in sorted order
+   * @throws NullPointerException if the specified lists or comparator is null
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> CustomArrayList<T> kWayMerge(List<? extends List<? extends T>> lists,
+      Comparator<? super T> comparator) {
+    Objects.requireNonNull(comparator);
+    int k = lists.size();
+    Object[][] sources = new Object[k][];
+    int[] lengths = new int[k];
+    int total = 0;
+    for (int s = 0; s < k; s++) {
+      List<? extends T> list = lists.get(s);
+      sources[s] = arrayOf(list);
+      lengths[s] = list.size();
+      total += lengths[s];
+    }
+
+    CustomArrayList<T> result = new CustomArrayList<>(total);
+    if (total == 0) {
+      return result;
+    }
+    LoserTree<T> tree = new LoserTree<>(sources, lengths, comparator);
+    for (int out = 0; out < total; out++) {
+      result.elements[out] = tree.next();
+    }
+    result.size = total;
+    return result;
+  }
+
+  /**
+   * Merges two sorted lists into a new sorted list, splitting the output into independent ranges
+   * that are merged in parallel. Each range boundary is located in both inputs by co-ranking, a
+   * binary search that needs no coordination between the tasks. The merge is stable: elements of
+   * the first list precede equal elements of the second.
+   *
+   * @param first      the first sorted list
+   * @param second     the second sorted list
+   * @param comparator the comparator both lists are sorted by
+   * @param <T>        the type of elements in the lists
+   * @return a new list containing all elements in sorted order
+   * @throws NullPointerException if either list or the comparator is null
+   */
+  public static <T> CustomArrayList<T> parallelMerge(List<? extends T> first,
+      List<? extends T> second, Comparator<? super T> comparator) {
+    Objects.requireNonNull(comparator);
+    Object[] a = arrayOf(first);
+    Object[] b = arrayOf(second);
+    int n = first.size();
+    int m = second.size();
+    int total = n + m;
+
+    CustomArrayList<T> result = new CustomArrayList<>(total);
+    Object[] out = result.elements;
+    int parts = total < DEFAULT_PARALLEL_GRANULARITY
+        ? 1
+        : Math.min(total / DEFAULT_PARALLEL_GRANULARITY,
+            ForkJoinPool.getCommonPoolParallelism() * 4);
+    IntStream.range(0, parts).parallel().forEach(part -> {
+      int from = (int) ((long) part * total / parts);
+      int to = (int) ((long) (part + 1) * total / parts);
+      int i0 = coRank(from, a, n, b, m, comparator);
+      int i1 = coRank(to, a, n, b, m, comparator);
+      mergeRange(a, i0, i1, b, from - i0, to - i1, out, from, comparator);
+    });
+    result.size = total;
+    return result;
+  }
+
+  /**
+   * Rearranges this list into a binary min-heap according to the comparator in O(n) and returns
+   * a priority queue view over it. See {@link #heapify(Comparator, int)}.
+   *
+   * @param comparator the comparator to determine the order of the heap
+   * @return a heap view over this list
+   * @throws NullPointerException if the specified comparator is null
+   */
+  public Heap heapify(Comparator<? super T> comparator) {
+    return heapify(comparator, 2);
+  }
+
+  /**
+   * Rearranges this list into a d-ary min-heap according to the comparator in O(n) and returns a
+   * priority queue view over it. The heap works directly on the backing array and grows it like
+   * {@link #add(Object)}. A larger arity makes the heap shallower and its children contiguous in
+   * memory, trading more comparisons per level for fewer cache misses. The list can be used as a
+   * plain list again at any time; the view is fail-fast and stops working once the list is
+   * modified through any other method.
+   *
+   * @param comparator the comparator to determine the order of the heap
+   * @param arity      the number of children of each heap node
+   * @return a heap view over this list
+   * @throws NullPointerException     if the specified comparator is null
+   * @throws IllegalArgumentException if {@code arity} is less than two
+   */
+  public Heap heapify(Comparator<? super T> comparator, int arity) {
+    Objects.requireNonNull(comparator);
+    if (arity < 2) {
+      throw new IllegalArgumentException("Illegal arity: " + arity);
+    }
+    checkNotFrozen();
+
+    return new Heap(comparator, arity);
+  }
+
+  /**
+   * Sorts this list by the {@code int} key extracted from each element. The keys are extracted
+   * once and ordered with a stable LSD radix sort, so no comparator is invoked and elements with
+   * equal keys keep their relative order.
+   *
+   * @param keyExtractor the function extracting the sort key
+   * @throws NullPointerException if the specified key extractor is null
+   */
+  public void sortByIntKey(ToIntFunction<? super T> keyExtractor) {
+    sortByIntKey(keyExtractor, false);
+  }
+
+  /**
+   * Sorts this list by the {@code int} key extracted from each element, running the key
+   * extraction and the radix passes in parallel for large lists.
+   *
+   * @param keyExtractor the function extracting the sort key
+   * @throws NullPointerException if the specified key extractor is null
+   */
+  public void parallelSortByIntKey(ToIntFunction<? super T> keyExtractor) {
+    sortByIntKey(keyExtractor, true);
+  }
+
+  /**
+   * Sorts this list by the {@code long} key extracted from each element. The keys are extracted
+   * once and ordered with a stable LSD radix sort, so no comparator is invoked and elements with
+   * equal keys keep their relative order.
+   *
+   * @param keyExtractor the function extracting the sort key
+   * @throws NullPointerException if the specified key extractor is null
+   */
+  public void sortByLongKey(ToLongFunction<? super T> keyExtractor) {
+    sortByLongKey(keyExtractor, false);
+  }
+
+  /**
+   * Sorts this list by the {@code long} key extracted from each element, running the key
+   * extraction and the radix passes in parallel for large lists.
+   *
+   * @param keyExtractor the function extracting the sort key
+   * @throws NullPointerException if the specified key extractor is null
+   */
+  public void parallelSortByLongKey(ToLongFunction<? super T> keyExtractor) {
+    sortByLongKey(keyExtractor, true);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void sortByIntKey(ToIntFunction<? super T> keyExtractor, boolean parallel) {
+    Objects.requireNonNull(keyExtractor);
+    checkNotFrozen();
+
+    int[] keys = new int[size];
+    if (parallel) {
+      IntStream.range(0, size).parallel()
+          .forEach(i -> keys[i] = keyExtractor.applyAsInt((T) elements[i]));
+    } else {
+      for (int i = 0; i < size; i++) {
+        keys[i] = keyExtractor.applyAsInt((T) elements[i]);
+      }
+    }
+    RadixSort.sort(keys, elements, size, parallel);
+    modificationCount++;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void sortByLongKey(ToLongFunction<? super T> keyExtractor, boolean parallel) {
+    Objects.requireNonNull(keyExtractor);
+    checkNotFrozen();
+
+    long[] keys = new long[size];
+    if (parallel) {
+      IntStream.range(0, size).parallel()
+          .forEach(i -> keys[i] = keyExtractor.applyAsLong((T) elements[i]));
+    } else {
+      for (int i = 0; i < size; i++) {
+        keys[i] = keyExtractor.applyAsLong((T) elements[i]);
+      }
+    }
+    RadixSort.sort(keys, elements, size, parallel);
+    modificationCount++;
+  }
+
   private void quickSort(Object[] arr, int begin, int end, Comparator<? super T> comparator) {
     if (begin < end) {
       int partitionIndex = partition(arr, begin, end, comparator);
@@ -531,11 +1324,382 @@ public class CustomArrayList<T> extends AbstractList<T> implements List<T> {
     return i + 1;
   }
 
-  private void swap(Object[] arr, int i, int j) {
-    Object temp = arr[i];
-    arr[i] = arr[j];
-    arr[j] = temp;
-  }
+  @SuppressWarnings("unchecked")
+  private void select(int k, Comparator<? super T> comparator) {
+    int begin = 0;
+    int end = size - 1;
+    int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(size));
+    while (begin < end) {
+      if (depthLimit-- == 0) {
+        Arrays.sort((T[]) elements, begin, end + 1, comparator);
+        return;
+      }
+      swap(elements, medianOfThree(begin, end, comparator), end);
+      int partitionIndex = partition(elements, begin, end, comparator);
+      if (partitionIndex == k) {
+        return;
+      }
+      if (k < partitionIndex) {
+        end = partitionIndex - 1;
+      } else {
+        begin = partitionIndex + 1;
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private int medianOfThree(int begin, int end, Comparator<? super T> comparator) {
+    int middle = (begin + end) >>> 1;
+    T a = (T) elements[begin];
+    T b = (T) elements[middle];
+    T c = (T) elements[end];
+    if (comparator.compare(a, b) < 0) {
+      if (comparator.compare(b, c) < 0) {
+        return middle;
+      }
+      return comparator.compare(a, c) < 0 ? end : begin;
+    }
+    if (comparator.compare(a, c) < 0) {
+      return begin;
+    }
+    return comparator.compare(b, c) < 0 ? end : middle;
+  }
+
+  private boolean truncate(int newSize) {
+    if (newSize == size) {
+      return false;
+    }
+    Arrays.fill(elements, newSize, size, null);
+    filterStaleCount += size - newSize;
+    size = newSize;
+    maintainFilter();
+    modificationCount++;
+    return true;
+  }
+
+  private static Object[] arrayOf(List<?> list) {
+    if (list instanceof CustomArrayList<?> custom) {
+      return custom.elements;
+    }
+    return list.toArray();
+  }
+
+  /**
+   * Returns how many elements of {@code a} precede output position {@code k} of the stable merge
+   * of {@code a} and {@code b}.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> int coRank(int k, Object[] a, int n, Object[] b, int m,
+      Comparator<? super T> comparator) {
+    int low = Math.max(0, k - m);
+    int high = Math.min(k, n);
+    while (low < high) {
+      int i = (low + high) >>> 1;
+      int j = k - i;
+      if (j > 0 && comparator.compare((T) a[i], (T) b[j - 1]) <= 0) {
+        low = i + 1;
+      } else {
+        high = i;
+      }
+    }
+    return low;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> void mergeRange(Object[] a, int i, int iEnd, Object[] b, int j, int jEnd,
+      Object[] out, int k, Comparator<? super T> comparator) {
+    while (i < iEnd && j < jEnd) {
+      out[k++] = comparator.compare((T) a[i], (T) b[j]) <= 0 ? a[i++] : b[j++];
+    }
+    while (i < iEnd) {
+      out[k++] = a[i++];
+    }
+    while (j < jEnd) {
+      out[k++] = b[j++];
+    }
+  }
+
+  private void swap(Object[] arr, int i, int j) {
+    Object temp = arr[i];
+    arr[i] = arr[j];
+    arr[j] = temp;
+  }
+
+  /**
+   * Makes this list permanently read-only. Every later mutation throws
+   * {@link UnsupportedOperationException}, which allows the backing array to be shared with
+   * immutable views without copying. Freezing counts as a modification, so iterators and heaps
+   * obtained earlier fail fast.
+   */
+  public void freeze() {
+    if (!frozen) {
+      frozen = true;
+      modificationCount++;
+    }
+  }
+
+  /**
+   * Checks if this list has been frozen.
+   *
+   * @return {@code true} if this list is read-only, {@code false} otherwise
+   */
+  public boolean isFrozen() {
+    return frozen;
+  }
+
+  /**
+   * Returns a {@link PersistentVector} with the elements of this frozen list. The backing array is
+   * shared, so the conversion runs in O(1).
+   *
+   * @return a persistent vector with the elements of this list
+   * @throws IllegalStateException if this list is not frozen
+   */
+  public PersistentVector<T> toPersistentVector() {
+    if (!frozen) {
+      throw new IllegalStateException("List must be frozen before conversion");
+    }
+    return PersistentVector.wrapFrozen(elements, size);
+  }
+
+  /**
+   * Turns canonicalizing mode on or off. While an interner is set, every element the list stores,
+   * whether through {@code add}, {@code set}, {@code addAll}, {@code insertAll},
+   * {@code applyPatch}, {@code mergeSorted}, the parallel bulk setters or the heap view, is
+   * replaced by its canonical instance, and
+   * {@code indexOf} resolves its argument to the canonical instance already in the interner's
+   * table, without locking or calling a registered canonicalizer, so matches are found by
+   * reference comparison before {@code equals} is called. Elements already in the list are left
+   * alone until {@link #canonicalize()} is called.
+   *
+   * @param interner the interner to route stored elements through, or {@code null} to turn the
+   *                 mode off
+   */
+  public void setInterner(Interner interner) {
+    this.interner = interner;
+  }
+
+  /**
+   * Returns the interner used in canonicalizing mode.
+   *
+   * @return the interner, or {@code null} if canonicalizing mode is off
+   */
+  public Interner getInterner() {
+    return interner;
+  }
+
+  /**
+   * Replaces every element of this list by its canonical instance.
+   *
+   * @return the number of elements that were replaced by a different instance
+   * @throws IllegalStateException         if canonicalizing mode is off
+   * @throws UnsupportedOperationException if this list is frozen
+   */
+  public int canonicalize() {
+    checkNotFrozen();
+    if (interner == null) {
+      throw new IllegalStateException("No interner set");
+    }
+
+    int replaced = 0;
+    for (int i = 0; i < size; i++) {
+      Object canonical = interner.intern(elements[i]);
+      if (canonical != elements[i]) {
+        elements[i] = canonical;
+        replaced++;
+      }
+    }
+    return replaced;
+  }
+
+  private T canonical(T element) {
+    return interner == null ? element : interner.intern(element);
+  }
+
+  private Object[] canonicalCopy(Object[] values) {
+    if (interner == null) {
+      return values;
+    }
+    Object[] copy = new Object[values.length];
+    for (int i = 0; i < values.length; i++) {
+      copy[i] = interner.intern(values[i]);
+    }
+    return copy;
+  }
+
+  private Object canonicalProbe(Object o) {
+    if (o == null || interner == null) {
+      return o;
+    }
+    Object canonical = interner.find(o);
+    return canonical != null ? canonical : o;
+  }
+
+  /**
+   * Maintains a Bloom filter over the elements of this list, so that {@code contains},
+   * {@code indexOf}, {@code lastIndexOf} and {@code remove(Object)} return in O(1) for most
+   * elements that are absent. Additions update the filter directly. Removed and overwritten
+   * elements stay in the filter; once they make up half of its entries, or the list outgrows the
+   * size the filter was built for, the mutation that crossed the threshold rebuilds it. Bulk
+   * operations that store elements without going through {@code add} or {@code set} rebuild it
+   * as well. Lookups only read the filter, so a frozen list can be queried concurrently.
+   *
+   * @param falsePositiveRate the target probability that a lookup of an absent element still
+   *                          has to scan the list
+   * @throws IllegalArgumentException if the rate is not strictly between 0 and 1
+   */
+  public void enableMembershipFilter(double falsePositiveRate) {
+    if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+      throw new IllegalArgumentException("Illegal false positive rate: " + falsePositiveRate);
+    }
+    filterFalsePositiveRate = falsePositiveRate;
+    rebuildFilter();
+  }
+
+  /**
+   * Stops maintaining the membership filter and releases its memory.
+   */
+  public void disableMembershipFilter() {
+    membershipFilter = null;
+  }
+
+  /**
+   * Returns the memory used by the membership filter.
+   *
+   * @return the size of the filter's bit array in bytes, or 0 if no filter is maintained
+   */
+  public long membershipFilterBytes() {
+    return membershipFilter == null ? 0 : membershipFilter.sizeInBytes();
+  }
+
+  private boolean definitelyAbsent(Object o) {
+    return membershipFilter != null && !membershipFilter.mightContain(o);
+  }
+
+  private void filterAdd(Object element) {
+    if (membershipFilter != null) {
+      membershipFilter.put(element);
+    }
+  }
+
+  private void maintainFilter() {
+    if (membershipFilter != null && (filterStaleCount * 2 > membershipFilter.insertions()
+        || membershipFilter.insertions() > membershipFilter.expectedInsertions())) {
+      rebuildFilter();
+    }
+  }
+
+  private void rebuildFilter() {
+    BloomFilter filter = new BloomFilter(Math.max(2 * size, INITIAL_CAPACITY),
+        filterFalsePositiveRate);
+    for (int i = 0; i < size; i++) {
+      filter.put(elements[i]);
+    }
+    membershipFilter = filter;
+    filterStaleCount = 0;
+  }
+
+  private void applyRunsForward(ListPatch<?> patch, Object[] values, Object[] target) {
+    int[] positions = patch.positions();
+    int[] deleteCounts = patch.deleteCounts();
+    int[] insertOffsets = patch.insertOffsets();
+    boolean inPlace = target == elements;
+    int read = inPlace ? positions[0] : 0;
+    int write = read;
+    for (int run = 0; run < positions.length; run++) {
+      int gap = positions[run] - read;
+      if (!inPlace || write != read) {
+        System.arraycopy(elements, read, target, write, gap);
+      }
+      write += gap;
+      int inserted = insertOffsets[run + 1] - insertOffsets[run];
+      System.arraycopy(values, insertOffsets[run], target, write, inserted);
+      write += inserted;
+      read = positions[run] + deleteCounts[run];
+    }
+    if (!inPlace || write != read) {
+      System.arraycopy(elements, read, target, write, size - read);
+    }
+  }
+
+  private HashSnapshot currentHash() {
+    HashSnapshot snapshot = hashSnapshot;
+    return snapshot != null && snapshot.modCount == modificationCount ? snapshot : null;
+  }
+
+  private int hashRange(int seed, int fromIndex, int toIndex) {
+    int result = seed;
+    for (int i = fromIndex; i < toIndex; i++) {
+      result = 31 * result + Objects.hashCode(elements[i]);
+    }
+    return result;
+  }
+
+  private void elementsReplaced() {
+    if (membershipFilter != null) {
+      rebuildFilter();
+    }
+    hashSnapshot = null;
+  }
+
+  private void runInParallel(ForkJoinPool pool, int granularity, RangeAction body) {
+    Objects.requireNonNull(pool);
+    if (granularity <= 0) {
+      throw new IllegalArgumentException("Illegal granularity: " + granularity);
+    }
+
+    final int expectedModCount = modificationCount;
+    Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+    pool.invoke(new RangeTask(0, size, granularity, expectedModCount, body, failures));
+
+    Throwable first = failures.poll();
+    if (first != null) {
+      for (Throwable other : failures) {
+        first.addSuppressed(other);
+      }
+      if (first instanceof Error error) {
+        throw error;
+      }
+      throw (RuntimeException) first;
+    }
+    if (modificationCount != expectedModCount) {
+      throw new ConcurrentModificationException();
+    }
+  }
+
+  int capacity() {
+    return elements.length;
+  }
+
+  void reorder(int[] order) {
+    checkNotFrozen();
+    Object[] reordered = new Object[elements.length];
+    for (int i = 0; i < size; i++) {
+      reordered[i] = elements[order[i]];
+    }
+    elements = reordered;
+    modificationCount++;
+  }
+
+  void recycle(int maxCapacity) {
+    checkNotFrozen();
+    Arrays.fill(elements, 0, size, null);
+    interner = null;
+    membershipFilter = null;
+    filterFalsePositiveRate = 0;
+    filterStaleCount = 0;
+    hashSnapshot = null;
+    size = 0;
+    modificationCount++;
+    if (elements.length > maxCapacity) {
+      elements = new Object[maxCapacity];
+    }
+  }
+
+  private void checkNotFrozen() {
+    if (frozen) {
+      throw new UnsupportedOperationException("List is frozen");
+    }
+  }
 
   private void ensureCapacity(int minCapacity) {
     if (minCapacity > elements.length) {
@@ -568,6 +1732,340 @@ public class CustomArrayList<T> extends AbstractList<T> implements List<T> {
     }
   }
 
+  /**
+   * Processes the index range {@code [from, to)} of the backing array.
+   */
+  @FunctionalInterface
+  private interface RangeAction {
+
+    void apply(int from, int to);
+  }
+
+  /**
+   * A fork/join task that splits an index range in halves until it is no longer than the
+   * granularity. Failures are collected instead of propagated, so that every failed range is
+   * reported once the whole operation completes.
+   */
+  private class RangeTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int from;
+    private final int to;
+    private final int granularity;
+    private final int expectedModCount;
+    private final RangeAction body;
+    private final Queue<Throwable> failures;
+
+    RangeTask(int from, int to, int granularity, int expectedModCount, RangeAction body,
+        Queue<Throwable> failures) {
+      this.from = from;
+      this.to = to;
+      this.granularity = granularity;
+      this.expectedModCount = expectedModCount;
+      this.body = body;
+      this.failures = failures;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= granularity) {
+        if (modificationCount != expectedModCount) {
+          failures.add(new ConcurrentModificationException());
+          return;
+        }
+        try {
+          body.apply(from, to);
+        } catch (RuntimeException | Error e) {
+          failures.add(e);
+        }
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      invokeAll(new RangeTask(from, middle, granularity, expectedModCount, body, failures),
+          new RangeTask(middle, to, granularity, expectedModCount, body, failures));
+    }
+  }
+
+  /**
+   * A tournament tree over k sorted sources whose internal nodes remember the loser of each
+   * match. Replacing the winner only replays the matches on its path to the root.
+   */
+  private static final class LoserTree<T> {
+
+    private final Object[][] sources;
+    private final int[] lengths;
+    private final int[] positions;
+    private final int[] tree;
+    private final Comparator<? super T> comparator;
+
+    LoserTree(Object[][] sources, int[] lengths, Comparator<? super T> comparator) {
+      this.sources = sources;
+      this.lengths = lengths;
+      this.positions = new int[sources.length];
+      this.tree = new int[sources.length];
+      this.comparator = comparator;
+      Arrays.fill(tree, -1);
+      for (int s = sources.length - 1; s >= 0; s--) {
+        replay(s);
+      }
+    }
+
+    Object next() {
+      int winner = tree[0];
+      Object element = sources[winner][positions[winner]++];
+      replay(winner);
+      return element;
+    }
+
+    private void replay(int source) {
+      int winner = source;
+      for (int node = (source + tree.length) >>> 1; node > 0; node >>>= 1) {
+        if (tree[node] == -1) {
+          tree[node] = winner;
+          return;
+        }
+        if (beats(tree[node], winner)) {
+          int loser = winner;
+          winner = tree[node];
+          tree[node] = loser;
+        }
+      }
+      tree[0] = winner;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean beats(int s, int t) {
+      if (positions[s] >= lengths[s]) {
+        return false;
+      }
+      if (positions[t] >= lengths[t]) {
+        return true;
+      }
+      int order = comparator.compare((T) sources[s][positions[s]], (T) sources[t][positions[t]]);
+      return order < 0 || order == 0 && s < t;
+    }
+  }
+
+  /**
+   * A list hash code together with the modification count it was computed at.
+   */
+  private static final class HashSnapshot {
+
+    private final int hash;
+    private final int modCount;
+
+    HashSnapshot(int hash, int modCount) {
+      this.hash = hash;
+      this.modCount = modCount;
+    }
+  }
+
+  /**
+   * A priority queue view that keeps the elements of the enclosing list in d-ary heap order, with
+   * the smallest element according to the comparator at index zero.
+   */
+  public final class Heap {
+
+    private final Comparator<? super T> comparator;
+    private final int arity;
+    private int expectedModCount;
+
+    private Heap(Comparator<? super T> comparator, int arity) {
+      this.comparator = comparator;
+      this.arity = arity;
+      if (size > 1) {
+        for (int i = (size - 2) / arity; i >= 0; i--) {
+          siftDown(i, elements[i]);
+        }
+      }
+      modificationCount++;
+      expectedModCount = modificationCount;
+    }
+
+    /**
+     * Returns the number of elements in this heap.
+     *
+     * @return the number of elements in this heap
+     */
+    public int size() {
+      checkForModification();
+      return size;
+    }
+
+    /**
+     * Checks if this heap is empty.
+     *
+     * @return {@code true} if this heap contains no elements, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+      checkForModification();
+      return size == 0;
+    }
+
+    /**
+     * Inserts the specified element into this heap in O(log n).
+     *
+     * @param element the element to insert
+     * @throws ConcurrentModificationException if the list was modified outside this heap
+     * @throws UnsupportedOperationException   if the list is frozen
+     */
+    public void push(T element) {
+      checkNotFrozen();
+      checkForModification();
+      T canonical = canonical(element);
+      ensureCapacity(size + 1);
+      filterAdd(canonical);
+      siftUp(size++, canonical);
+      maintainFilter();
+      modificationCount++;
+      expectedModCount = modificationCount;
+    }
+
+    /**
+     * Returns the smallest element of this heap without removing it.
+     *
+     * @return the smallest element
+     * @throws NoSuchElementException          if this heap is empty
+     * @throws ConcurrentModificationException if the list was modified outside this heap
+     */
+    @SuppressWarnings("unchecked")
+    public T peek() {
+      checkForModification();
+      if (size == 0) {
+        throw new NoSuchElementException();
+      }
+      return (T) elements[0];
+    }
+
+    /**
+     * Removes and returns the smallest element of this heap in O(log n).
+     *
+     * @return the smallest element
+     * @throws NoSuchElementException          if this heap is empty
+     * @throws ConcurrentModificationException if the list was modified outside this heap
+     * @throws UnsupportedOperationException   if the list is frozen
+     */
+    public T pop() {
+      checkNotFrozen();
+      T top = peek();
+      Object last = elements[--size];
+      elements[size] = null;
+      if (size > 0) {
+        siftDown(0, last);
+      }
+      filterStaleCount++;
+      maintainFilter();
+      modificationCount++;
+      expectedModCount = modificationCount;
+      return top;
+    }
+
+    /**
+     * Replaces the smallest element of this heap with the specified element and restores heap
+     * order in O(log n). This is cheaper than a {@link #pop()} followed by a {@link #push(Object)}.
+     *
+     * @param element the element to insert
+     * @return the smallest element before the replacement
+     * @throws NoSuchElementException          if this heap is empty
+     * @throws ConcurrentModificationException if the list was modified outside this heap
+     * @throws UnsupportedOperationException   if the list is frozen
+     */
+    public T replaceTop(T element) {
+      checkNotFrozen();
+      T top = peek();
+      T canonical = canonical(element);
+      siftDown(0, canonical);
+      replaced(canonical);
+      expectedModCount = modificationCount;
+      return top;
+    }
+
+    /**
+     * Replaces the element at the specified index of the backing list with a smaller or equal
+     * element and moves it towards the top in O(log n).
+     *
+     * @param index   the index of the element in the backing list
+     * @param element the new element, which must not compare greater than the current one
+     * @throws IndexOutOfBoundsException       if the index is out of range
+     * @throws IllegalArgumentException        if the new element compares greater than the current
+     * @throws ConcurrentModificationException if the list was modified outside this heap
+     * @throws UnsupportedOperationException   if the list is frozen
+     */
+    @SuppressWarnings("unchecked")
+    public void decreaseKey(int index, T element) {
+      checkNotFrozen();
+      checkForModification();
+      Objects.checkIndex(index, size);
+      if (comparator.compare(element, (T) elements[index]) > 0) {
+        throw new IllegalArgumentException("New element is greater than the current one");
+      }
+      T canonical = canonical(element);
+      siftUp(index, canonical);
+      replaced(canonical);
+    }
+
+    /**
+     * Returns the list backing this heap. The list holds the elements in heap order and may be
+     * used as a plain list; doing so invalidates this heap.
+     *
+     * @return the backing list
+     */
+    public CustomArrayList<T> list() {
+      return CustomArrayList.this;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void siftUp(int index, Object element) {
+      while (index > 0) {
+        int parent = (index - 1) / arity;
+        Object parentElement = elements[parent];
+        if (comparator.compare((T) element, (T) parentElement) >= 0) {
+          break;
+        }
+        elements[index] = parentElement;
+        index = parent;
+      }
+      elements[index] = element;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void siftDown(int index, Object element) {
+      while (true) {
+        int firstChild = index * arity + 1;
+        if (firstChild >= size || firstChild < 0) {
+          break;
+        }
+        int lastChild = Math.min(firstChild + arity, size);
+        int smallest = firstChild;
+        for (int child = firstChild + 1; child < lastChild; child++) {
+          if (comparator.compare((T) elements[child], (T) elements[smallest]) < 0) {
+            smallest = child;
+          }
+        }
+        if (comparator.compare((T) elements[smallest], (T) element) >= 0) {
+          break;
+        }
+        elements[index] = elements[smallest];
+        index = smallest;
+      }
+      elements[index] = element;
+    }
+
+    private void replaced(T element) {
+      filterAdd(element);
+      filterStaleCount++;
+      maintainFilter();
+      hashSnapshot = null;
+    }
+
+    private void checkForModification() {
+      if (modificationCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+    }
+  }
+
   /**
    * An iterator over the elements in this list.
    */
@@ -0,0 +1,293 @@
+package by.russianzak.customarraylist.CustomArrayList;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * CustomIntArrayList is a dynamic array of primitive {@code int} values. It grows like
+ * {@link CustomArrayList} but stores values unboxed, and its search and aggregation methods use
+ * SIMD instructions through the Vector API when the {@code jdk.incubator.vector} module is
+ * available.
+ */
+public class CustomIntArrayList {
+
+  private static final int INITIAL_CAPACITY = 10;
+  private int[] elements;
+  private int size;
+  private int modificationCount;
+
+  /**
+   * Constructs an empty list with an initial capacity of ten.
+   */
+  public CustomIntArrayList() {
+    elements = new int[INITIAL_CAPACITY];
+    size = 0;
+    modificationCount = 0;
+  }
+
+  /**
+   * Constructs an empty list with the specified initial capacity.
+   *
+   * @param capacity the initial capacity of the list
+   * @throws IllegalArgumentException if the specified initial capacity is negative
+   */
+  public CustomIntArrayList(int capacity) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Illegal capacity: " + capacity);
+    }
+    elements = new int[capacity];
+    size = 0;
+    modificationCount = 0;
+  }
+
+  /**
+   * Returns the number of values in this list.
+   *
+   * @return the number of values in this list
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Checks if this list is empty.
+   *
+   * @return {@code true} if this list contains no values, {@code false} otherwise
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the value at the specified position in this list.
+   *
+   * @param index the index of the value to be returned
+   * @return the value at the specified position in this list
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public int get(int index) {
+    Objects.checkIndex(index, size);
+
+    return elements[index];
+  }
+
+  /**
+   * Replaces the value at the specified position in this list with the specified value.
+   *
+   * @param index the index of the value to replace
+   * @param value the value to be stored at the specified position
+   * @return the value previously at the specified position
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public int set(int index, int value) {
+    Objects.checkIndex(index, size);
+
+    int oldValue = elements[index];
+    elements[index] = value;
+    return oldValue;
+  }
+
+  /**
+   * Appends the specified value to the end of this list.
+   *
+   * @param value the value to be appended to this list
+   */
+  public void add(int value) {
+    if (size == elements.length) {
+      increaseCapacity(size + 1);
+    }
+    elements[size++] = value;
+    modificationCount++;
+  }
+
+  /**
+   * Inserts the specified value at the specified position in this list.
+   *
+   * @param index the index at which the specified value is to be inserted
+   * @param value the value to be inserted
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public void add(int index, int value) {
+    checkIndexForAdd(index);
+
+    if (size == elements.length) {
+      increaseCapacity(size + 1);
+    }
+    System.arraycopy(elements, index, elements, index + 1, size - index);
+    elements[index] = value;
+    size++;
+    modificationCount++;
+  }
+
+  /**
+   * Removes the value at the specified position in this list.
+   *
+   * @param index the index of the value to be removed
+   * @return the value that was removed from the list
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public int removeAt(int index) {
+    Objects.checkIndex(index, size);
+
+    int removedValue = elements[index];
+    System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+    size--;
+    modificationCount++;
+    return removedValue;
+  }
+
+  /**
+   * Removes all the values from this list.
+   */
+  public void clear() {
+    size = 0;
+    modificationCount++;
+  }
+
+  /**
+   * Returns an array containing all the values in this list in proper sequence.
+   *
+   * @return an array containing all the values in this list
+   */
+  public int[] toArray() {
+    return Arrays.copyOf(elements, size);
+  }
+
+  /**
+   * Performs the given action for each value of the list in order.
+   *
+   * @param action the action to be performed for each value
+   * @throws NullPointerException            if the specified action is null
+   * @throws ConcurrentModificationException if the list is structurally modified by the action
+   */
+  public void forEach(IntConsumer action) {
+    Objects.requireNonNull(action);
+
+    final int expectedModCount = modificationCount;
+    for (int i = 0; modificationCount == expectedModCount && i < size; i++) {
+      action.accept(elements[i]);
+    }
+    if (modificationCount != expectedModCount) {
+      throw new ConcurrentModificationException();
+    }
+  }
+
+  /**
+   * Returns the index of the first occurrence of the specified value in this list, or -1 if this
+   * list does not contain the value.
+   *
+   * @param value the value to search for
+   * @return the index of the first occurrence of the value, or -1 if it is absent
+   */
+  public int indexOf(int value) {
+    return IntScans.indexOf(elements, size, value);
+  }
+
+  /**
+   * Returns the index of the last occurrence of the specified value in this list, or -1 if this
+   * list does not contain the value.
+   *
+   * @param value the value to search for
+   * @return the index of the last occurrence of the value, or -1 if it is absent
+   */
+  public int lastIndexOf(int value) {
+    for (int i = size - 1; i >= 0; i--) {
+      if (elements[i] == value) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Checks if this list contains the specified value.
+   *
+   * @param value the value to be checked for containment in this list
+   * @return {@code true} if this list contains the value, {@code false} otherwise
+   */
+  public boolean contains(int value) {
+    return indexOf(value) != -1;
+  }
+
+  /**
+   * Returns the smallest value in this list.
+   *
+   * @return the smallest value in this list
+   * @throws NoSuchElementException if this list is empty
+   */
+  public int min() {
+    checkNotEmpty();
+    return IntScans.min(elements, size);
+  }
+
+  /**
+   * Returns the largest value in this list.
+   *
+   * @return the largest value in this list
+   * @throws NoSuchElementException if this list is empty
+   */
+  public int max() {
+    checkNotEmpty();
+    return IntScans.max(elements, size);
+  }
+
+  /**
+   * Returns the sum of the values in this list, accumulated as a {@code long} so that it does not
+   * overflow for any list size.
+   *
+   * @return the sum of the values in this list
+   */
+  public long sum() {
+    return IntScans.sum(elements, size);
+  }
+
+  /**
+   * Returns the number of values in this list that are strictly greater than the threshold.
+   *
+   * @param threshold the exclusive lower bound
+   * @return the number of values greater than {@code threshold}
+   */
+  public int countGreaterThan(int threshold) {
+    return IntScans.countGreaterThan(elements, size, threshold);
+  }
+
+  /**
+   * Returns a string representation of this list.
+   *
+   * @return a string representation of this list
+   */
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("[");
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append(elements[i]);
+    }
+    sb.append("]");
+    return sb.toString();
+  }
+
+  private void checkNotEmpty() {
+    if (size == 0) {
+      throw new NoSuchElementException();
+    }
+  }
+
+  private void increaseCapacity(int minCapacity) {
+    int newCapacity = Math.max(minCapacity, (elements.length * 3) / 2 + 1);
+    elements = Arrays.copyOf(elements, newCapacity);
+    modificationCount++;
+  }
+
+  private void checkIndexForAdd(int index) {
+    if (index > size || index < 0) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+  }
+}
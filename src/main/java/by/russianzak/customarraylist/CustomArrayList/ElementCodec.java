@@ -0,0 +1,70 @@
+package by.russianzak.customarraylist.CustomArrayList;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Converts non-null list elements to and from bytes, so that lists can move elements out of the
+ * heap. Lists record {@code null} themselves and never pass it to a codec.
+ *
+ * @param <T> the type of elements handled by this codec
+ */
+public interface ElementCodec<T> {
+
+  /**
+   * Writes the specified element to the output.
+   *
+   * @param element the element to write
+   * @param out     the output to write to
+   * @throws IOException if the output fails
+   */
+  void encode(T element, DataOutput out) throws IOException;
+
+  /**
+   * Reads one element, as written by {@link #encode(Object, DataOutput)}, from the input.
+   *
+   * @param in the input to read from
+   * @return the element read
+   * @throws IOException if the input fails
+   */
+  T decode(DataInput in) throws IOException;
+
+  /**
+   * Returns a codec for non-null {@link Long} values.
+   *
+   * @return a codec writing each value as eight bytes
+   */
+  static ElementCodec<Long> longs() {
+    return new ElementCodec<>() {
+      @Override
+      public void encode(Long element, DataOutput out) throws IOException {
+        out.writeLong(element);
+      }
+
+      @Override
+      public Long decode(DataInput in) throws IOException {
+        return in.readLong();
+      }
+    };
+  }
+
+  /**
+   * Returns a codec for non-null {@link String} values.
+   *
+   * @return a codec writing each value in modified UTF-8
+   */
+  static ElementCodec<String> strings() {
+    return new ElementCodec<>() {
+      @Override
+      public void encode(String element, DataOutput out) throws IOException {
+        out.writeUTF(element);
+      }
+
+      @Override
+      public String decode(DataInput in) throws IOException {
+        return in.readUTF();
+      }
+    };
+  }
+}
@@ -0,0 +1,65 @@
+package by.russianzak.customarraylist.CustomArrayList;
+
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Stable sort of positions rather than of the values at them. The comparison is given two
+ * positions, so callers can order rows of any storage without boxing the positions or copying
+ * the values. Runs of {@value #INSERTION_SORT_RUN} are insertion-sorted and then merged
+ * bottom-up through one scratch buffer.
+ */
+final class IndexSort {
+
+  private static final int INSERTION_SORT_RUN = 16;
+
+  private IndexSort() {
+  }
+
+  /**
+   * Returns the positions {@code 0} to {@code size - 1} in stable ascending order of the
+   * comparison.
+   */
+  static int[] sortedOrder(int size, IntBinaryOperator comparison) {
+    int[] order = new int[size];
+    for (int i = 0; i < size; i++) {
+      order[i] = i;
+    }
+    for (int from = 0; from < size; from += INSERTION_SORT_RUN) {
+      int to = Math.min(size, from + INSERTION_SORT_RUN);
+      for (int i = from + 1; i < to; i++) {
+        int position = order[i];
+        int j = i - 1;
+        while (j >= from && comparison.applyAsInt(order[j], position) > 0) {
+          order[j + 1] = order[j];
+          j--;
+        }
+        order[j + 1] = position;
+      }
+    }
+    int[] buffer = new int[size];
+    for (int width = INSERTION_SORT_RUN; width < size; width *= 2) {
+      for (int low = 0; low < size - width; low += 2 * width) {
+        int middle = low + width;
+        int high = Math.min(size, middle + width);
+        if (comparison.applyAsInt(order[middle - 1], order[middle]) <= 0) {
+          continue;
+        }
+        System.arraycopy(order, low, buffer, low, middle - low);
+        int i = low;
+        int j = middle;
+        int k = low;
+        while (i < middle && j < high) {
+          if (comparison.applyAsInt(order[j], buffer[i]) < 0) {
+            order[k++] = order[j++];
+          } else {
+            order[k++] = buffer[i++];
+          }
+        }
+        while (i < middle) {
+          order[k++] = buffer[i++];
+        }
+      }
+    }
+    return order;
+  }
+}
@@ -0,0 +1,111 @@
+package by.russianzak.customarraylist.CustomArrayList;
+
+/**
+ * Search and aggregation kernels over the prefix of an {@code int[]}. Each kernel dispatches to
+ * {@link VectorIntScans} when the {@code jdk.incubator.vector} module is present in the boot layer
+ * and the range is long enough to fill a few vectors, and to a scalar loop otherwise.
+ */
+final class IntScans {
+
+  private static final int SIMD_THRESHOLD = 64;
+  private static final boolean SIMD_AVAILABLE = detectVectorSupport();
+
+  private IntScans() {
+  }
+
+  /**
+   * Returns whether the vectorized kernels are in use.
+   */
+  static boolean isVectorized() {
+    return SIMD_AVAILABLE;
+  }
+
+  static int indexOf(int[] a, int length, int value) {
+    if (SIMD_AVAILABLE && length >= SIMD_THRESHOLD) {
+      return VectorIntScans.indexOf(a, length, value);
+    }
+    return scalarIndexOf(a, 0, length, value);
+  }
+
+  static int min(int[] a, int length) {
+    if (SIMD_AVAILABLE && length >= SIMD_THRESHOLD) {
+      return VectorIntScans.min(a, length);
+    }
+    return scalarMin(a, 0, length, Integer.MAX_VALUE);
+  }
+
+  static int max(int[] a, int length) {
+    if (SIMD_AVAILABLE && length >= SIMD_THRESHOLD) {
+      return VectorIntScans.max(a, length);
+    }
+    return scalarMax(a, 0, length, Integer.MIN_VALUE);
+  }
+
+  static long sum(int[] a, int length) {
+    if (SIMD_AVAILABLE && length >= SIMD_THRESHOLD) {
+      return VectorIntScans.sum(a, length);
+    }
+    return scalarSum(a, 0, length);
+  }
+
+  static int countGreaterThan(int[] a, int length, int threshold) {
+    if (SIMD_AVAILABLE && length >= SIMD_THRESHOLD) {
+      return VectorIntScans.countGreaterThan(a, length, threshold);
+    }
+    return scalarCountGreaterThan(a, 0, length, threshold);
+  }
+
+  static int scalarIndexOf(int[] a, int from, int to, int value) {
+    for (int i = from; i < to; i++) {
+      if (a[i] == value) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  static int scalarMin(int[] a, int from, int to, int initial) {
+    int result = initial;
+    for (int i = from; i < to; i++) {
+      result = Math.min(result, a[i]);
+    }
+    return result;
+  }
+
+  static int scalarMax(int[] a, int from, int to, int initial) {
+    int result = initial;
+    for (int i = from; i < to; i++) {
+      result = Math.max(result, a[i]);
+    }
+    return result;
+  }
+
+  static long scalarSum(int[] a, int from, int to) {
+    long result = 0;
+    for (int i = from; i < to; i++) {
+      result += a[i];
+    }
+    return result;
+  }
+
+  static int scalarCountGreaterThan(int[] a, int from, int to, int threshold) {
+    int result = 0;
+    for (int i = from; i < to; i++) {
+      if (a[i] > threshold) {
+        result++;
+      }
+    }
+    return result;
+  }
+
+  private static boolean detectVectorSupport() {
+    if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+      return false;
+    }
+    try {
+      return VectorIntScans.laneCount() > 1;
+    } catch (LinkageError e) {
+      return false;
+    }
+  }
+}
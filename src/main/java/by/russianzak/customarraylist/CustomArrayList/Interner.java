@@ -0,0 +1,220 @@
+package by.russianzak.customarraylist.CustomArrayList;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Interner maps equal values to one canonical instance, so that lists holding many equal but
+ * distinct objects can share a single copy. Values of a type with a registered canonicalizer are
+ * passed to it; all other values go through a shared concurrent table that references canonical
+ * instances weakly, so an instance is dropped from the table once no list holds it.
+ *
+ * <p>Only immutable values should be interned: a canonical instance is shared by every holder.
+ * This class is thread-safe, and lookups in the table do not lock.
+ */
+public class Interner {
+
+  private static final long OBJECT_HEADER_BYTES = 16;
+  private static final long STRING_OVERHEAD_BYTES = 40;
+
+  private final Map<Object, WeakKey> table = new ConcurrentHashMap<>();
+  private final ReferenceQueue<Object> cleared = new ReferenceQueue<>();
+  private final Map<Class<?>, TypeRule<?>> rules = new ConcurrentHashMap<>();
+  private final LongAdder internCount = new LongAdder();
+  private final LongAdder dedupCount = new LongAdder();
+  private final LongAdder bytesSaved = new LongAdder();
+
+  /**
+   * Registers a canonicalizer for values whose class is exactly {@code type}. The canonicalizer
+   * must return a value equal to its argument, for example from a cache of its own.
+   *
+   * @param type          the class of values the canonicalizer handles
+   * @param canonicalizer returns the canonical instance for a value
+   * @param sizeEstimator estimates the heap bytes of one instance, used for the savings metric
+   * @param <T>           the type of values
+   */
+  public <T> void register(Class<T> type, UnaryOperator<T> canonicalizer,
+      ToLongFunction<? super T> sizeEstimator) {
+    rules.put(Objects.requireNonNull(type),
+        new TypeRule<>(Objects.requireNonNull(canonicalizer),
+            Objects.requireNonNull(sizeEstimator)));
+  }
+
+  /**
+   * Returns the canonical instance equal to the specified value, registering the value itself as
+   * canonical if there is none yet.
+   *
+   * @param value the value to intern, possibly {@code null}
+   * @param <T>   the type of the value
+   * @return the canonical instance, or {@code null} if the value is {@code null}
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T intern(T value) {
+    if (value == null) {
+      return null;
+    }
+    internCount.increment();
+    TypeRule<T> rule = (TypeRule<T>) rules.get(value.getClass());
+    T canonical;
+    if (rule != null) {
+      canonical = rule.canonicalizer.apply(value);
+    } else {
+      expungeCleared();
+      canonical = (T) lookup(value);
+      while (canonical == null) {
+        WeakKey key = new WeakKey(value, cleared);
+        WeakKey existing = table.putIfAbsent(key, key);
+        if (existing == null) {
+          canonical = value;
+        } else {
+          canonical = (T) existing.get();
+          if (canonical == null) {
+            table.remove(existing, existing);
+          }
+        }
+      }
+    }
+    if (canonical != value) {
+      dedupCount.increment();
+      bytesSaved.add(rule != null ? rule.sizeEstimator.applyAsLong(value) : estimateSize(value));
+    }
+    return canonical;
+  }
+
+  /**
+   * Returns the canonical instance equal to the specified non-null value if the shared table
+   * already holds one, or {@code null} otherwise. Unlike {@link #intern(Object)} this neither
+   * registers the value nor calls a registered canonicalizer, and it does not lock.
+   */
+  Object find(Object value) {
+    if (rules.containsKey(value.getClass())) {
+      return null;
+    }
+    return lookup(value);
+  }
+
+  private Object lookup(Object value) {
+    WeakKey key = table.get(new Probe(value));
+    return key == null ? null : key.get();
+  }
+
+  private void expungeCleared() {
+    Object key;
+    while ((key = cleared.poll()) != null) {
+      table.remove(key, key);
+    }
+  }
+
+  /**
+   * Returns the number of distinct canonical instances in the shared table. Values handled by a
+   * registered canonicalizer are not counted.
+   *
+   * @return the number of table entries
+   */
+  public int tableSize() {
+    expungeCleared();
+    return table.size();
+  }
+
+  /**
+   * Returns the number of non-null values passed to {@link #intern(Object)}.
+   *
+   * @return the number of intern calls
+   */
+  public long internCount() {
+    return internCount.sum();
+  }
+
+  /**
+   * Returns the number of values that were replaced by an existing canonical instance.
+   *
+   * @return the number of deduplicated values
+   */
+  public long dedupCount() {
+    return dedupCount.sum();
+  }
+
+  /**
+   * Returns an estimate of the heap bytes made collectable by deduplication, assuming every
+   * replaced value had no other holder.
+   *
+   * @return the estimated number of bytes saved
+   */
+  public long bytesSaved() {
+    return bytesSaved.sum();
+  }
+
+  private static long estimateSize(Object value) {
+    if (value instanceof String s) {
+      return STRING_OVERHEAD_BYTES + s.length();
+    }
+    return OBJECT_HEADER_BYTES;
+  }
+
+  /**
+   * A table key referencing its canonical instance weakly. Its hash code is fixed at creation so
+   * that it can still be found and removed once the instance has been collected.
+   */
+  private static final class WeakKey extends WeakReference<Object> {
+
+    private final int hash;
+
+    WeakKey(Object value, ReferenceQueue<Object> queue) {
+      super(value, queue);
+      this.hash = value.hashCode();
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      Object value = get();
+      return value != null && o instanceof WeakKey other && value.equals(other.get());
+    }
+  }
+
+  /**
+   * A strongly held lookup key that matches the table key of an equal value.
+   */
+  private static final class Probe {
+
+    private final Object value;
+
+    Probe(Object value) {
+      this.value = value;
+    }
+
+    @Override
+    public int hashCode() {
+      return value.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof WeakKey key && value.equals(key.get());
+    }
+  }
+
+  private static final class TypeRule<T> {
+
+    private final UnaryOperator<T> canonicalizer;
+    private final ToLongFunction<? super T> sizeEstimator;
+
+    TypeRule(UnaryOperator<T> canonicalizer, ToLongFunction<? super T> sizeEstimator) {
+      this.canonicalizer = canonicalizer;
+      this.sizeEstimator = sizeEstimator;
+    }
+  }
+}
@@ -0,0 +1,438 @@
+package by.russianzak.customarraylist.CustomArrayList;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * LazyView is a read-only list view that defers a chain of map, filter, limit and concat stages
+ * until its elements are read. Adjacent map and filter stages are fused into a single function,
+ * and all stages run in one pass over the source without intermediate arrays. Results are copied
+ * only by an explicit {@link #toList()}.
+ *
+ * @param <T> the type of elements in this view
+ */
+public abstract class LazyView<T> extends AbstractList<T> {
+
+  LazyView() {
+  }
+
+  /**
+   * Returns a view over the specified list with no stages applied.
+   */
+  static <T> LazyView<T> of(List<T> source) {
+    return new Source<>(source);
+  }
+
+  /**
+   * Returns a lazy view whose elements are the results of applying the specified function to the
+   * elements of this view.
+   *
+   * @param mapper the function to apply to each element
+   * @param <R>    the type of elements in the returned view
+   * @return the mapped view
+   * @throws NullPointerException if the specified mapper is null
+   */
+  public <R> LazyView<R> mapView(Function<? super T, ? extends R> mapper) {
+    Objects.requireNonNull(mapper);
+    return new Mapped<>(this, mapper);
+  }
+
+  /**
+   * Returns a lazy view consisting of the elements of this view that match the specified
+   * predicate.
+   *
+   * @param predicate the predicate to apply to each element
+   * @return the filtered view
+   * @throws NullPointerException if the specified predicate is null
+   */
+  public LazyView<T> filterView(Predicate<? super T> predicate) {
+    Objects.requireNonNull(predicate);
+    return new Filtered<>(this, predicate);
+  }
+
+  /**
+   * Returns a lazy view consisting of at most the first {@code maxSize} elements of this view.
+   * Traversal of the underlying stages stops as soon as the limit is reached.
+   *
+   * @param maxSize the number of elements the view should be limited to
+   * @return the limited view
+   * @throws IllegalArgumentException if {@code maxSize} is negative
+   */
+  public LazyView<T> limitView(int maxSize) {
+    if (maxSize < 0) {
+      throw new IllegalArgumentException("Illegal limit: " + maxSize);
+    }
+    return new Limited<>(this, maxSize);
+  }
+
+  /**
+   * Returns a lazy view consisting of the elements of this view followed by the elements of the
+   * specified list.
+   *
+   * @param other the list whose elements follow the elements of this view
+   * @return the concatenated view
+   * @throws NullPointerException if the specified list is null
+   */
+  public LazyView<T> concatView(List<? extends T> other) {
+    Objects.requireNonNull(other);
+    return new Concat<>(this, other);
+  }
+
+  /**
+   * Materializes this view into a new {@link CustomArrayList} in a single pass.
+   *
+   * @return a new list containing the elements of this view
+   */
+  public CustomArrayList<T> toList() {
+    CustomArrayList<T> result = new CustomArrayList<>();
+    traverse(element -> {
+      result.add(element);
+      return true;
+    });
+    return result;
+  }
+
+  /**
+   * Returns the element at the specified position in this view. Views without filter stages
+   * resolve the index directly; otherwise elements are produced until the index is reached.
+   *
+   * @param index the index of the element to be returned
+   * @return the element at the specified position in this view
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  @Override
+  public T get(int index) {
+    if (index < 0) {
+      throw new IndexOutOfBoundsException("Index: " + index);
+    }
+    Object[] found = new Object[1];
+    int[] position = {0};
+    boolean completed = traverse(element -> {
+      if (position[0]++ == index) {
+        found[0] = element;
+        return false;
+      }
+      return true;
+    });
+    if (completed) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + position[0]);
+    }
+    @SuppressWarnings("unchecked")
+    T result = (T) found[0];
+    return result;
+  }
+
+  /**
+   * Returns the number of elements in this view. Views with filter stages must be traversed to
+   * compute their size.
+   *
+   * @return the number of elements in this view
+   */
+  @Override
+  public int size() {
+    int[] count = {0};
+    traverse(element -> {
+      count[0]++;
+      return true;
+    });
+    return count[0];
+  }
+
+  /**
+   * Performs the given action for each element of this view in one fused pass.
+   *
+   * @param action the action to be performed for each element
+   * @throws NullPointerException if the specified action is null
+   */
+  @Override
+  public void forEach(Consumer<? super T> action) {
+    Objects.requireNonNull(action);
+    traverse(element -> {
+      action.accept(element);
+      return true;
+    });
+  }
+
+  /**
+   * Pushes the elements of this view into the sink until it returns {@code false}.
+   *
+   * @return {@code true} if every element was pushed, {@code false} if the sink stopped early
+   */
+  abstract boolean traverse(Predicate<? super T> sink);
+
+  private static final class Source<T> extends LazyView<T> {
+
+    private final List<T> source;
+
+    Source(List<T> source) {
+      this.source = source;
+    }
+
+    @Override
+    boolean traverse(Predicate<? super T> sink) {
+      for (T element : source) {
+        if (!sink.test(element)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public T get(int index) {
+      return source.get(index);
+    }
+
+    @Override
+    public int size() {
+      return source.size();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+      return source.iterator();
+    }
+  }
+
+  private static final class Mapped<S, T> extends LazyView<T> {
+
+    private final LazyView<S> parent;
+    private final Function<? super S, ? extends T> mapper;
+
+    Mapped(LazyView<S> parent, Function<? super S, ? extends T> mapper) {
+      this.parent = parent;
+      this.mapper = mapper;
+    }
+
+    @Override
+    public <R> LazyView<R> mapView(Function<? super T, ? extends R> next) {
+      Objects.requireNonNull(next);
+      Function<? super S, ? extends T> first = mapper;
+      return new Mapped<S, R>(parent, element -> next.apply(first.apply(element)));
+    }
+
+    @Override
+    boolean traverse(Predicate<? super T> sink) {
+      return parent.traverse(element -> sink.test(mapper.apply(element)));
+    }
+
+    @Override
+    public T get(int index) {
+      return mapper.apply(parent.get(index));
+    }
+
+    @Override
+    public int size() {
+      return parent.size();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+      Iterator<S> it = parent.iterator();
+      return new Iterator<>() {
+        @Override
+        public boolean hasNext() {
+          return it.hasNext();
+        }
+
+        @Override
+        public T next() {
+          return mapper.apply(it.next());
+        }
+      };
+    }
+  }
+
+  private static final class Filtered<T> extends LazyView<T> {
+
+    private final LazyView<T> parent;
+    private final Predicate<? super T> predicate;
+
+    Filtered(LazyView<T> parent, Predicate<? super T> predicate) {
+      this.parent = parent;
+      this.predicate = predicate;
+    }
+
+    @Override
+    public LazyView<T> filterView(Predicate<? super T> next) {
+      Objects.requireNonNull(next);
+      Predicate<? super T> first = predicate;
+      return new Filtered<T>(parent, element -> first.test(element) && next.test(element));
+    }
+
+    @Override
+    boolean traverse(Predicate<? super T> sink) {
+      return parent.traverse(element -> !predicate.test(element) || sink.test(element));
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+      Iterator<T> it = parent.iterator();
+      return new Iterator<>() {
+        private T nextElement;
+        private boolean ready;
+
+        @Override
+        public boolean hasNext() {
+          while (!ready && it.hasNext()) {
+            T candidate = it.next();
+            if (predicate.test(candidate)) {
+              nextElement = candidate;
+              ready = true;
+            }
+          }
+          return ready;
+        }
+
+        @Override
+        public T next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          ready = false;
+          T result = nextElement;
+          nextElement = null;
+          return result;
+        }
+      };
+    }
+  }
+
+  private static final class Limited<T> extends LazyView<T> {
+
+    private final LazyView<T> parent;
+    private final int maxSize;
+
+    Limited(LazyView<T> parent, int maxSize) {
+      this.parent = parent;
+      this.maxSize = maxSize;
+    }
+
+    @Override
+    public LazyView<T> limitView(int next) {
+      if (next < 0) {
+        throw new IllegalArgumentException("Illegal limit: " + next);
+      }
+      return new Limited<>(parent, Math.min(maxSize, next));
+    }
+
+    @Override
+    boolean traverse(Predicate<? super T> sink) {
+      if (maxSize == 0) {
+        return true;
+      }
+      int[] remaining = {maxSize};
+      boolean[] stopped = {false};
+      parent.traverse(element -> {
+        if (!sink.test(element)) {
+          stopped[0] = true;
+          return false;
+        }
+        return --remaining[0] > 0;
+      });
+      return !stopped[0];
+    }
+
+    @Override
+    public T get(int index) {
+      if (index >= maxSize) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+      }
+      return parent.get(index);
+    }
+
+    @Override
+    public int size() {
+      return Math.min(maxSize, parent.size());
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+      Iterator<T> it = parent.iterator();
+      return new Iterator<>() {
+        private int returned;
+
+        @Override
+        public boolean hasNext() {
+          return returned < maxSize && it.hasNext();
+        }
+
+        @Override
+        public T next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          returned++;
+          return it.next();
+        }
+      };
+    }
+  }
+
+  private static final class Concat<T> extends LazyView<T> {
+
+    private final LazyView<T> first;
+    private final List<? extends T> second;
+
+    Concat(LazyView<T> first, List<? extends T> second) {
+      this.first = first;
+      this.second = second;
+    }
+
+    @Override
+    boolean traverse(Predicate<? super T> sink) {
+      if (!first.traverse(sink)) {
+        return false;
+      }
+      for (T element : second) {
+        if (!sink.test(element)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public T get(int index) {
+      if (index < 0) {
+        throw new IndexOutOfBoundsException("Index: " + index);
+      }
+      int firstSize = first.size();
+      if (index < firstSize) {
+        return first.get(index);
+      }
+      if (index - firstSize >= second.size()) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+      }
+      return second.get(index - firstSize);
+    }
+
+    @Override
+    public int size() {
+      return first.size() + second.size();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+      Iterator<T> head = first.iterator();
+      Iterator<? extends T> rest = second.iterator();
+      return new Iterator<>() {
+        @Override
+        public boolean hasNext() {
+          return head.hasNext() || rest.hasNext();
+        }
+
+        @Override
+        public T next() {
+          return head.hasNext() ? head.next() : rest.next();
+        }
+      };
+    }
+  }
+}
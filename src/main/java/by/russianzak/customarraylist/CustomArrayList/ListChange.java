@@ -0,0 +1,107 @@
+package by.russianzak.customarraylist.CustomArrayList;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One structural or content change of an {@link ObservableList}. Index ranges are half-open
+ * and refer to the list as it is right after the preceding change of the same batch has been
+ * applied.
+ *
+ * @param <T> the type of elements in the list
+ */
+public final class ListChange<T> {
+
+  /**
+   * The kind of a change.
+   */
+  public enum Kind {
+    /**
+     * Elements were inserted at {@code [from, to)}.
+     */
+    ADDED,
+    /**
+     * The elements at {@code [from, to)} were removed.
+     */
+    REMOVED,
+    /**
+     * The elements at {@code [from, to)} were replaced.
+     */
+    SET,
+    /**
+     * The elements at {@code [from, to)} were reordered as described by the permutation.
+     */
+    PERMUTED
+  }
+
+  private final Kind kind;
+  private final int from;
+  private final int to;
+  private final List<T> values;
+  private final int[] permutation;
+
+  ListChange(Kind kind, int from, int to, List<T> values, int[] permutation) {
+    this.kind = kind;
+    this.from = from;
+    this.to = to;
+    this.values = values;
+    this.permutation = permutation;
+  }
+
+  /**
+   * Returns the kind of this change.
+   *
+   * @return the kind of this change
+   */
+  public Kind kind() {
+    return kind;
+  }
+
+  /**
+   * Returns the first index affected by this change.
+   *
+   * @return the first index, inclusive
+   */
+  public int from() {
+    return from;
+  }
+
+  /**
+   * Returns the index after the last one affected by this change.
+   *
+   * @return the last index, exclusive
+   */
+  public int to() {
+    return to;
+  }
+
+  /**
+   * Returns the new elements of an {@link Kind#ADDED} or {@link Kind#SET} change, as they were
+   * when the change happened.
+   *
+   * @return the new elements, empty for other kinds of changes
+   */
+  public List<T> values() {
+    return values == null ? Collections.emptyList() : Collections.unmodifiableList(values);
+  }
+
+  /**
+   * Returns, for a {@link Kind#PERMUTED} change, the old index of the element now at index
+   * {@code from + i} at position {@code i}.
+   *
+   * @return a copy of the permutation, empty for other kinds of changes
+   */
+  public int[] permutation() {
+    return permutation == null ? new int[0] : permutation.clone();
+  }
+
+  /**
+   * Returns a string representation of this change.
+   *
+   * @return a string representation of this change
+   */
+  @Override
+  public String toString() {
+    return kind + "[" + from + ", " + to + ")";
+  }
+}
@@ -0,0 +1,248 @@
+package by.russianzak.customarraylist.CustomArrayList;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes a {@link ListPatch} between two lists. Elements are first mapped to integer ids so
+ * that comparisons are cheap. Each range is trimmed of its common prefix and suffix; large ranges
+ * are then split at the longest increasing chain of elements that occur exactly once on both
+ * sides (the patience heuristic), and the remaining ranges are aligned with Myers' O(ND)
+ * algorithm using the linear-space middle-snake bisection. Time and memory grow with the size of
+ * the difference for lists that mostly agree.
+ */
+final class ListDiff {
+
+  private static final int PATIENCE_THRESHOLD = 1024;
+
+  private final int[] a;
+  private final int[] b;
+  private final CustomIntArrayList matchesA = new CustomIntArrayList();
+  private final CustomIntArrayList matchesB = new CustomIntArrayList();
+
+  private ListDiff(int[] a, int[] b) {
+    this.a = a;
+    this.b = b;
+  }
+
+  /**
+   * Returns a patch turning the old list into the new one.
+   */
+  static <T> ListPatch<T> diff(List<? extends T> oldList, List<? extends T> newList) {
+    Object[] oldElements = oldList.toArray();
+    Object[] newElements = newList.toArray();
+    Map<Object, Integer> ids = new HashMap<>();
+    int[] a = new int[oldElements.length];
+    int[] b = new int[newElements.length];
+    for (int i = 0; i < a.length; i++) {
+      a[i] = ids.computeIfAbsent(oldElements[i], key -> ids.size());
+    }
+    for (int j = 0; j < b.length; j++) {
+      b[j] = ids.computeIfAbsent(newElements[j], key -> ids.size());
+    }
+
+    ListDiff diff = new ListDiff(a, b);
+    diff.compare(0, a.length, 0, b.length);
+    return diff.toPatch(newElements);
+  }
+
+  private void compare(int aLo, int aHi, int bLo, int bHi) {
+    while (aLo < aHi && bLo < bHi && a[aLo] == b[bLo]) {
+      match(aLo++, bLo++);
+    }
+    int aEnd = aHi;
+    int bEnd = bHi;
+    while (aLo < aEnd && bLo < bEnd && a[aEnd - 1] == b[bEnd - 1]) {
+      aEnd--;
+      bEnd--;
+    }
+    if (aLo < aEnd && bLo < bEnd) {
+      if ((aEnd - aLo) + (bEnd - bLo) < PATIENCE_THRESHOLD
+          || !patience(aLo, aEnd, bLo, bEnd)) {
+        bisect(aLo, aEnd, bLo, bEnd);
+      }
+    }
+    for (int i = aEnd; i < aHi; i++) {
+      match(i, bEnd + (i - aEnd));
+    }
+  }
+
+  private boolean patience(int aLo, int aHi, int bLo, int bHi) {
+    Map<Integer, int[]> occurrences = new HashMap<>();
+    for (int i = aLo; i < aHi; i++) {
+      int[] entry = occurrences.computeIfAbsent(a[i], key -> new int[3]);
+      entry[0]++;
+    }
+    for (int j = bLo; j < bHi; j++) {
+      int[] entry = occurrences.get(b[j]);
+      if (entry != null) {
+        entry[1]++;
+        entry[2] = j;
+      }
+    }
+    CustomIntArrayList uniqueA = new CustomIntArrayList();
+    CustomIntArrayList uniqueB = new CustomIntArrayList();
+    for (int i = aLo; i < aHi; i++) {
+      int[] entry = occurrences.get(a[i]);
+      if (entry[0] == 1 && entry[1] == 1) {
+        uniqueA.add(i);
+        uniqueB.add(entry[2]);
+      }
+    }
+    int count = uniqueA.size();
+    if (count == 0) {
+      return false;
+    }
+
+    int[] tails = new int[count];
+    int[] previous = new int[count];
+    int length = 0;
+    for (int k = 0; k < count; k++) {
+      int value = uniqueB.get(k);
+      int low = 0;
+      int high = length;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (uniqueB.get(tails[middle]) < value) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      previous[k] = low > 0 ? tails[low - 1] : -1;
+      tails[low] = k;
+      if (low == length) {
+        length++;
+      }
+    }
+    int[] anchors = new int[length];
+    for (int k = tails[length - 1], n = length - 1; k >= 0; k = previous[k], n--) {
+      anchors[n] = k;
+    }
+
+    int previousA = aLo;
+    int previousB = bLo;
+    for (int anchor : anchors) {
+      int i = uniqueA.get(anchor);
+      int j = uniqueB.get(anchor);
+      compare(previousA, i, previousB, j);
+      match(i, j);
+      previousA = i + 1;
+      previousB = j + 1;
+    }
+    compare(previousA, aHi, previousB, bHi);
+    return true;
+  }
+
+  private void bisect(int aLo, int aHi, int bLo, int bHi) {
+    int n = aHi - aLo;
+    int m = bHi - bLo;
+    int maxD = (n + m + 1) / 2;
+    int offset = maxD;
+    int length = 2 * maxD + 2;
+    int[] forward = new int[length];
+    int[] backward = new int[length];
+    Arrays.fill(forward, -1);
+    Arrays.fill(backward, -1);
+    forward[offset + 1] = 0;
+    backward[offset + 1] = 0;
+    int delta = n - m;
+    boolean odd = (delta & 1) != 0;
+    int k1Start = 0;
+    int k1End = 0;
+    int k2Start = 0;
+    int k2End = 0;
+    for (int d = 0; d < maxD; d++) {
+      for (int k1 = -d + k1Start; k1 <= d - k1End; k1 += 2) {
+        int k1Offset = offset + k1;
+        int x1 = k1 == -d || k1 != d && forward[k1Offset - 1] < forward[k1Offset + 1]
+            ? forward[k1Offset + 1] : forward[k1Offset - 1] + 1;
+        int y1 = x1 - k1;
+        while (x1 < n && y1 < m && a[aLo + x1] == b[bLo + y1]) {
+          x1++;
+          y1++;
+        }
+        forward[k1Offset] = x1;
+        if (x1 > n) {
+          k1End += 2;
+        } else if (y1 > m) {
+          k1Start += 2;
+        } else if (odd) {
+          int k2Offset = offset + delta - k1;
+          if (k2Offset >= 0 && k2Offset < length && backward[k2Offset] != -1
+              && x1 >= n - backward[k2Offset]) {
+            split(aLo, aHi, bLo, bHi, x1, y1);
+            return;
+          }
+        }
+      }
+      for (int k2 = -d + k2Start; k2 <= d - k2End; k2 += 2) {
+        int k2Offset = offset + k2;
+        int x2 = k2 == -d || k2 != d && backward[k2Offset - 1] < backward[k2Offset + 1]
+            ? backward[k2Offset + 1] : backward[k2Offset - 1] + 1;
+        int y2 = x2 - k2;
+        while (x2 < n && y2 < m && a[aHi - x2 - 1] == b[bHi - y2 - 1]) {
+          x2++;
+          y2++;
+        }
+        backward[k2Offset] = x2;
+        if (x2 > n) {
+          k2End += 2;
+        } else if (y2 > m) {
+          k2Start += 2;
+        } else if (!odd) {
+          int k1Offset = offset + delta - k2;
+          if (k1Offset >= 0 && k1Offset < length && forward[k1Offset] != -1) {
+            int x1 = forward[k1Offset];
+            int y1 = offset + x1 - k1Offset;
+            if (x1 >= n - x2) {
+              split(aLo, aHi, bLo, bHi, x1, y1);
+              return;
+            }
+          }
+        }
+      }
+    }
+  }
+
+  private void split(int aLo, int aHi, int bLo, int bHi, int x, int y) {
+    if (x == 0 && y == 0 || x == aHi - aLo && y == bHi - bLo) {
+      return;
+    }
+    compare(aLo, aLo + x, bLo, bLo + y);
+    compare(aLo + x, aHi, bLo + y, bHi);
+  }
+
+  private void match(int i, int j) {
+    matchesA.add(i);
+    matchesB.add(j);
+  }
+
+  private <T> ListPatch<T> toPatch(Object[] newElements) {
+    CustomIntArrayList positions = new CustomIntArrayList();
+    CustomIntArrayList deleteCounts = new CustomIntArrayList();
+    CustomIntArrayList insertOffsets = new CustomIntArrayList();
+    CustomArrayList<Object> values = new CustomArrayList<>();
+    insertOffsets.add(0);
+    int previousA = 0;
+    int previousB = 0;
+    for (int k = 0; k <= matchesA.size(); k++) {
+      int i = k < matchesA.size() ? matchesA.get(k) : a.length;
+      int j = k < matchesB.size() ? matchesB.get(k) : b.length;
+      if (i > previousA || j > previousB) {
+        positions.add(previousA);
+        deleteCounts.add(i - previousA);
+        for (int n = previousB; n < j; n++) {
+          values.add(newElements[n]);
+        }
+        insertOffsets.add(values.size());
+      }
+      previousA = i + 1;
+      previousB = j + 1;
+    }
+    return new ListPatch<>(a.length, b.length, positions.toArray(), deleteCounts.toArray(),
+        insertOffsets.toArray(), values.toArray());
+  }
+}
@@ -0,0 +1,273 @@
+package by.russianzak.customarraylist.CustomArrayList;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An edit script turning one list into another, as produced by
+ * {@link CustomArrayList#diff(List, List)}. The script is a sequence of runs in ascending order of
+ * position; each run deletes a number of elements at a position of the old list and inserts new
+ * elements in their place, so a run is an insertion, a deletion or a replacement. Unchanged
+ * elements are not part of the patch, so its size depends only on the size of the change.
+ *
+ * @param <T> the type of elements in the lists
+ */
+public final class ListPatch<T> {
+
+  private final int oldSize;
+  private final int newSize;
+  private final int[] positions;
+  private final int[] deleteCounts;
+  private final int[] insertOffsets;
+  private final Object[] values;
+
+  ListPatch(int oldSize, int newSize, int[] positions, int[] deleteCounts, int[] insertOffsets,
+      Object[] values) {
+    this.oldSize = oldSize;
+    this.newSize = newSize;
+    this.positions = positions;
+    this.deleteCounts = deleteCounts;
+    this.insertOffsets = insertOffsets;
+    this.values = values;
+  }
+
+  /**
+   * Returns the size of the list this patch applies to.
+   *
+   * @return the size of the old list
+   */
+  public int oldSize() {
+    return oldSize;
+  }
+
+  /**
+   * Returns the size of the list after applying this patch.
+   *
+   * @return the size of the new list
+   */
+  public int newSize() {
+    return newSize;
+  }
+
+  /**
+   * Returns the number of runs in this patch.
+   *
+   * @return the number of runs
+   */
+  public int runCount() {
+    return positions.length;
+  }
+
+  /**
+   * Checks if this patch changes nothing.
+   *
+   * @return {@code true} if this patch has no runs
+   */
+  public boolean isEmpty() {
+    return positions.length == 0;
+  }
+
+  /**
+   * Returns the position in the old list where the specified run starts.
+   *
+   * @param run the index of the run
+   * @return the old-list position of the run
+   * @throws IndexOutOfBoundsException if the run index is out of range
+   */
+  public int position(int run) {
+    return positions[run];
+  }
+
+  /**
+   * Returns the number of old elements the specified run deletes.
+   *
+   * @param run the index of the run
+   * @return the number of deleted elements
+   * @throws IndexOutOfBoundsException if the run index is out of range
+   */
+  public int deleteCount(int run) {
+    return deleteCounts[run];
+  }
+
+  /**
+   * Returns the elements the specified run inserts.
+   *
+   * @param run the index of the run
+   * @return an unmodifiable list of the inserted elements
+   * @throws IndexOutOfBoundsException if the run index is out of range
+   */
+  @SuppressWarnings("unchecked")
+  public List<T> inserted(int run) {
+    Objects.checkIndex(run, positions.length);
+
+    return Collections.unmodifiableList(Arrays.asList(
+        (T[]) Arrays.copyOfRange(values, insertOffsets[run], insertOffsets[run + 1])));
+  }
+
+  /**
+   * Encodes this patch as bytes. Positions are stored as variable-length gaps from the end of
+   * the previous run, counts as variable-length integers, and inserted elements with the codec.
+   *
+   * @param codec the codec for the inserted elements
+   * @return the encoded patch
+   * @throws UncheckedIOException if the codec fails
+   */
+  @SuppressWarnings("unchecked")
+  public byte[] encode(ElementCodec<? super T> codec) {
+    Objects.requireNonNull(codec);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    try {
+      writeVarInt(out, oldSize);
+      writeVarInt(out, newSize);
+      writeVarInt(out, positions.length);
+      int previousEnd = 0;
+      for (int run = 0; run < positions.length; run++) {
+        writeVarInt(out, positions[run] - previousEnd);
+        writeVarInt(out, deleteCounts[run]);
+        writeVarInt(out, insertOffsets[run + 1] - insertOffsets[run]);
+        for (int i = insertOffsets[run]; i < insertOffsets[run + 1]; i++) {
+          out.writeBoolean(values[i] != null);
+          if (values[i] != null) {
+            codec.encode((T) values[i], out);
+          }
+        }
+        previousEnd = positions[run] + deleteCounts[run];
+      }
+      out.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Decodes a patch written by {@link #encode(ElementCodec)}.
+   *
+   * @param bytes the encoded patch
+   * @param codec the codec for the inserted elements
+   * @param <T>   the type of elements in the lists
+   * @return the decoded patch
+   * @throws IllegalArgumentException if the bytes are not a valid patch
+   */
+  public static <T> ListPatch<T> decode(byte[] bytes, ElementCodec<? extends T> codec) {
+    Objects.requireNonNull(codec);
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+    try {
+      int oldSize = readVarInt(in);
+      int newSize = readVarInt(in);
+      int runCount = readVarInt(in);
+      if (runCount > bytes.length) {
+        throw new IllegalArgumentException("Malformed patch");
+      }
+      int[] positions = new int[runCount];
+      int[] deleteCounts = new int[runCount];
+      int[] insertOffsets = new int[runCount + 1];
+      CustomArrayList<Object> values = new CustomArrayList<>();
+      int previousEnd = 0;
+      for (int run = 0; run < runCount; run++) {
+        int gap = readVarInt(in);
+        if (gap > oldSize - previousEnd) {
+          throw new IllegalArgumentException("Malformed patch");
+        }
+        positions[run] = previousEnd + gap;
+        deleteCounts[run] = readVarInt(in);
+        if (deleteCounts[run] > oldSize - positions[run]) {
+          throw new IllegalArgumentException("Malformed patch");
+        }
+        int insertCount = readVarInt(in);
+        if (insertCount == 0 && deleteCounts[run] == 0) {
+          throw new IllegalArgumentException("Malformed patch");
+        }
+        for (int i = 0; i < insertCount; i++) {
+          values.add(in.readBoolean() ? codec.decode(in) : null);
+        }
+        insertOffsets[run + 1] = values.size();
+        previousEnd = positions[run] + deleteCounts[run];
+      }
+      if (oldSize - totalDeleted(deleteCounts) + values.size() != newSize) {
+        throw new IllegalArgumentException("Malformed patch");
+      }
+      return new ListPatch<>(oldSize, newSize, positions, deleteCounts, insertOffsets,
+          values.toArray());
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Malformed patch", e);
+    }
+  }
+
+  int[] positions() {
+    return positions;
+  }
+
+  int[] deleteCounts() {
+    return deleteCounts;
+  }
+
+  int[] insertOffsets() {
+    return insertOffsets;
+  }
+
+  Object[] values() {
+    return values;
+  }
+
+  /**
+   * Returns a string representation of this patch listing its runs.
+   *
+   * @return a string representation of this patch
+   */
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("[");
+    for (int run = 0; run < positions.length; run++) {
+      if (run > 0) {
+        sb.append(", ");
+      }
+      sb.append('@').append(positions[run]).append(" -").append(deleteCounts[run])
+          .append(" +").append(Arrays.toString(
+              Arrays.copyOfRange(values, insertOffsets[run], insertOffsets[run + 1])));
+    }
+    return sb.append(']').toString();
+  }
+
+  private static int totalDeleted(int[] deleteCounts) {
+    int total = 0;
+    for (int count : deleteCounts) {
+      total += count;
+    }
+    return total;
+  }
+
+  private static void writeVarInt(DataOutput out, int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte(value);
+  }
+
+  private static int readVarInt(DataInput in) throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      byte b = in.readByte();
+      value |= (b & 0x7F) << shift;
+      if (b >= 0) {
+        if (value < 0) {
+          throw new IOException("Negative count");
+        }
+        return value;
+      }
+    }
+    throw new IOException("Variable-length integer too long");
+  }
+}
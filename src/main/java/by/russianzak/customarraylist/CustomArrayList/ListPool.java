@@ -0,0 +1,190 @@
+package by.russianzak.customarraylist.CustomArrayList;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ListPool recycles {@link CustomArrayList} instances together with their backing arrays, so that
+ * code which repeatedly builds short-lived lists stops allocating once the pool is warm. Pooled
+ * lists are grouped by capacity class, each class a power of two, and every thread keeps its own
+ * small stack of lists per class, so acquiring and releasing never contend. A list released on a
+ * different thread than it was acquired on simply joins the releasing thread's pool.
+ *
+ * <p>In debug mode the pool also remembers where every outstanding list was acquired, which makes
+ * lists that are never released, or released twice, visible.
+ */
+public class ListPool {
+
+  private static final int MIN_CLASS_BITS = 4;
+  private static final int DEFAULT_MAX_POOLED_CAPACITY = 1 << 16;
+  private static final int DEFAULT_LISTS_PER_CLASS = 8;
+
+  private final int maxPooledCapacity;
+  private final int listsPerClass;
+  private final ThreadLocal<ArrayDeque<CustomArrayList<?>>[]> pools;
+  private final Map<CustomArrayList<?>, Throwable> leases;
+  private final LongAdder acquireCount = new LongAdder();
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder discardCount = new LongAdder();
+
+  /**
+   * Constructs a pool keeping up to eight lists per capacity class for capacities up to 65536,
+   * with debug tracking disabled.
+   */
+  public ListPool() {
+    this(DEFAULT_MAX_POOLED_CAPACITY, DEFAULT_LISTS_PER_CLASS, false);
+  }
+
+  /**
+   * Constructs a pool with the specified limits.
+   *
+   * @param maxPooledCapacity the largest capacity kept, rounded down to a power of two; larger
+   *                          released lists have their array trimmed to it
+   * @param listsPerClass     the number of lists each thread keeps per capacity class
+   * @param debug             whether to track outstanding lists and their acquisition sites
+   * @throws IllegalArgumentException if {@code maxPooledCapacity} is below 16 or
+   *                                  {@code listsPerClass} is not positive
+   */
+  @SuppressWarnings("unchecked")
+  public ListPool(int maxPooledCapacity, int listsPerClass, boolean debug) {
+    if (maxPooledCapacity < 1 << MIN_CLASS_BITS) {
+      throw new IllegalArgumentException("Illegal capacity: " + maxPooledCapacity);
+    }
+    if (listsPerClass <= 0) {
+      throw new IllegalArgumentException("Illegal lists per class: " + listsPerClass);
+    }
+    int maxClassBits = 31 - Integer.numberOfLeadingZeros(maxPooledCapacity);
+    this.maxPooledCapacity = 1 << maxClassBits;
+    this.listsPerClass = listsPerClass;
+    int classCount = maxClassBits - MIN_CLASS_BITS + 1;
+    this.pools = ThreadLocal.withInitial(() -> (ArrayDeque<CustomArrayList<?>>[]) new ArrayDeque<?>[classCount]);
+    this.leases = debug ? Collections.synchronizedMap(new IdentityHashMap<>()) : null;
+  }
+
+  /**
+   * Returns an empty list able to hold at least {@code expectedSize} elements without growing,
+   * reusing a pooled list when one of a suitable capacity class is available.
+   *
+   * @param expectedSize the number of elements the caller expects to add
+   * @param <T>          the type of elements in the list
+   * @return an empty list
+   * @throws IllegalArgumentException if {@code expectedSize} is negative
+   */
+  @SuppressWarnings("unchecked")
+  public <T> CustomArrayList<T> acquire(int expectedSize) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("Illegal capacity: " + expectedSize);
+    }
+    acquireCount.increment();
+    CustomArrayList<T> list = null;
+    if (expectedSize <= maxPooledCapacity) {
+      int classBits = Math.max(MIN_CLASS_BITS,
+          32 - Integer.numberOfLeadingZeros(Math.max(expectedSize, 1) - 1));
+      ArrayDeque<CustomArrayList<?>> stack = pools.get()[classBits - MIN_CLASS_BITS];
+      if (stack != null && !stack.isEmpty()) {
+        list = (CustomArrayList<T>) stack.pop();
+        hitCount.increment();
+      } else {
+        list = new CustomArrayList<>(1 << classBits);
+      }
+    } else {
+      list = new CustomArrayList<>(expectedSize);
+    }
+    if (leases != null) {
+      leases.put(list, new Throwable("List acquired here"));
+    }
+    return list;
+  }
+
+  /**
+   * Returns a list to the pool. The list is cleared in time proportional to its size, its array
+   * is trimmed if it grew past the largest pooled capacity, and it is kept if the thread's stack
+   * for its capacity class has room. The caller must not use the list afterwards.
+   *
+   * @param list the list to release
+   * @throws IllegalArgumentException if the list is frozen
+   * @throws IllegalStateException    in debug mode, if the list is not outstanding from this pool
+   */
+  public void release(CustomArrayList<?> list) {
+    if (list.isFrozen()) {
+      throw new IllegalArgumentException("Frozen lists cannot be pooled");
+    }
+    if (leases != null && leases.remove(list) == null) {
+      throw new IllegalStateException("List was not acquired from this pool or already released");
+    }
+    list.recycle(maxPooledCapacity);
+    int capacity = list.capacity();
+    if (capacity < 1 << MIN_CLASS_BITS) {
+      discardCount.increment();
+      return;
+    }
+    int classIndex = 31 - Integer.numberOfLeadingZeros(capacity) - MIN_CLASS_BITS;
+    ArrayDeque<CustomArrayList<?>>[] stacks = pools.get();
+    if (stacks[classIndex] == null) {
+      stacks[classIndex] = new ArrayDeque<>(listsPerClass);
+    }
+    if (stacks[classIndex].size() < listsPerClass) {
+      stacks[classIndex].push(list);
+    } else {
+      discardCount.increment();
+    }
+  }
+
+  /**
+   * Returns the acquisition sites of the lists that are currently acquired and not released. Only
+   * tracked in debug mode.
+   *
+   * @return a stack trace holder per outstanding list, empty when debug mode is off
+   */
+  public List<Throwable> outstandingLeases() {
+    if (leases == null) {
+      return Collections.emptyList();
+    }
+    synchronized (leases) {
+      return new ArrayList<>(leases.values());
+    }
+  }
+
+  /**
+   * Returns the number of {@code acquire} calls so far.
+   *
+   * @return the number of acquisitions
+   */
+  public long acquireCount() {
+    return acquireCount.sum();
+  }
+
+  /**
+   * Returns the number of {@code acquire} calls served from the pool.
+   *
+   * @return the number of pool hits
+   */
+  public long hitCount() {
+    return hitCount.sum();
+  }
+
+  /**
+   * Returns the number of released lists that were dropped because their stack was full or
+   * their capacity too small to pool.
+   *
+   * @return the number of discarded lists
+   */
+  public long discardCount() {
+    return discardCount.sum();
+  }
+
+  /**
+   * Returns the share of acquisitions served from the pool.
+   *
+   * @return the hit rate between 0 and 1, or 0 if nothing was acquired yet
+   */
+  public double hitRate() {
+    long acquired = acquireCount.sum();
+    return acquired == 0 ? 0 : (double) hitCount.sum() / acquired;
+  }
+}
@@ -0,0 +1,215 @@
+package by.russianzak.customarraylist.CustomArrayList;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ListSizingFactory creates {@link CustomArrayList} instances pre-sized from the sizes that lists
+ * created under the same site key reached before. Every site keeps a histogram of recorded sizes
+ * whose weights decay exponentially with each new record, so the profile follows changes in the
+ * workload; new lists get the configured percentile of that histogram as initial capacity.
+ *
+ * <p>Histogram buckets are exact below 16 and split every power of two into four buckets above,
+ * so a suggested capacity overshoots the true percentile by less than 25%. The learned profile
+ * can be exported and preloaded, for example to start a new process warm.
+ */
+public class ListSizingFactory {
+
+  private static final int INITIAL_CAPACITY = 10;
+  private static final double DEFAULT_PERCENTILE = 0.9;
+  private static final double DEFAULT_DECAY = 0.95;
+  private static final int EXACT_BUCKETS = 16;
+  private static final int BUCKET_COUNT = EXACT_BUCKETS + (31 - 4) * 4;
+
+  private final double percentile;
+  private final double decay;
+  private final Map<String, SiteProfile> sites = new ConcurrentHashMap<>();
+  private final LongAdder recordCount = new LongAdder();
+  private final LongAdder resizeCopiesAvoided = new LongAdder();
+
+  /**
+   * Constructs a factory that pre-sizes lists to the decayed 90th percentile of recorded sizes,
+   * each record weighing 5% less per later record.
+   */
+  public ListSizingFactory() {
+    this(DEFAULT_PERCENTILE, DEFAULT_DECAY);
+  }
+
+  /**
+   * Constructs a factory with the specified percentile and decay.
+   *
+   * @param percentile the share of recorded sizes a new list should fit without growing
+   * @param decay      the factor applied to older records on each new record
+   * @throws IllegalArgumentException if either argument is not in (0, 1]
+   */
+  public ListSizingFactory(double percentile, double decay) {
+    if (!(percentile > 0 && percentile <= 1)) {
+      throw new IllegalArgumentException("Illegal percentile: " + percentile);
+    }
+    if (!(decay > 0 && decay <= 1)) {
+      throw new IllegalArgumentException("Illegal decay: " + decay);
+    }
+    this.percentile = percentile;
+    this.decay = decay;
+  }
+
+  /**
+   * Returns a new empty list with the capacity suggested for the specified site.
+   *
+   * @param site the key identifying where the list is created
+   * @param <T>  the type of elements in the list
+   * @return a new empty list
+   */
+  public <T> CustomArrayList<T> newList(String site) {
+    return new CustomArrayList<>(suggestedCapacity(site));
+  }
+
+  /**
+   * Returns the initial capacity suggested for the specified site, or ten if nothing was recorded
+   * for it.
+   *
+   * @param site the key identifying where lists are created
+   * @return the suggested initial capacity
+   */
+  public int suggestedCapacity(String site) {
+    SiteProfile profile = sites.get(Objects.requireNonNull(site));
+    return profile == null ? INITIAL_CAPACITY : profile.percentile(percentile);
+  }
+
+  /**
+   * Records the final or peak size that a list created under the specified site reached.
+   *
+   * @param site the key identifying where the list was created
+   * @param size the size the list reached
+   * @throws IllegalArgumentException if {@code size} is negative
+   */
+  public void recordSize(String site, int size) {
+    if (size < 0) {
+      throw new IllegalArgumentException("Illegal size: " + size);
+    }
+    SiteProfile profile = sites.computeIfAbsent(Objects.requireNonNull(site),
+        key -> new SiteProfile());
+    int presized = profile.percentile(percentile);
+    profile.record(size, 1);
+    recordCount.increment();
+    resizeCopiesAvoided.add(Math.max(0,
+        growthCopies(INITIAL_CAPACITY, size) - growthCopies(presized, size)));
+  }
+
+  /**
+   * Returns the currently suggested capacity of every site that has records.
+   *
+   * @return a sorted map from site key to suggested capacity
+   */
+  public Map<String, Integer> exportProfile() {
+    Map<String, Integer> profile = new TreeMap<>();
+    sites.forEach((site, siteProfile) -> profile.put(site, siteProfile.percentile(percentile)));
+    return profile;
+  }
+
+  /**
+   * Seeds the specified sites with capacities, typically from {@link #exportProfile()} of an
+   * earlier run. Each seed weighs as much as a long run of identical records, so it holds until
+   * the decay lets real observations take over.
+   *
+   * @param profile a map from site key to capacity
+   * @throws IllegalArgumentException if a capacity is negative
+   */
+  public void preload(Map<String, Integer> profile) {
+    double weight = decay < 1 ? 1 / (1 - decay) : 1;
+    profile.forEach((site, capacity) -> {
+      if (capacity < 0) {
+        throw new IllegalArgumentException("Illegal capacity: " + capacity);
+      }
+      sites.computeIfAbsent(Objects.requireNonNull(site), key -> new SiteProfile())
+          .record(capacity, weight);
+    });
+  }
+
+  /**
+   * Returns the number of sizes recorded so far.
+   *
+   * @return the number of records
+   */
+  public long recordCount() {
+    return recordCount.sum();
+  }
+
+  /**
+   * Returns an estimate of the array copies saved by pre-sizing: for every record, the number of
+   * growth steps a default list would have taken minus those a list of the suggested capacity
+   * would have taken.
+   *
+   * @return the number of resize copies avoided
+   */
+  public long resizeCopiesAvoided() {
+    return resizeCopiesAvoided.sum();
+  }
+
+  static int growthCopies(int capacity, int size) {
+    int copies = 0;
+    long current = capacity;
+    while (current < size) {
+      current = (current * 3) / 2 + 1;
+      copies++;
+    }
+    return copies;
+  }
+
+  static int bucketOf(int size) {
+    if (size < EXACT_BUCKETS) {
+      return size;
+    }
+    int exponent = 31 - Integer.numberOfLeadingZeros(size);
+    int sub = (size >>> (exponent - 2)) & 3;
+    return EXACT_BUCKETS + (exponent - 4) * 4 + sub;
+  }
+
+  static int bucketUpperBound(int bucket) {
+    if (bucket < EXACT_BUCKETS) {
+      return bucket;
+    }
+    int exponent = (bucket - EXACT_BUCKETS) / 4 + 4;
+    int sub = (bucket - EXACT_BUCKETS) % 4;
+    return (int) (((long) (4 + sub + 1) << (exponent - 2)) - 1);
+  }
+
+  /**
+   * The decayed size histogram of one site.
+   */
+  private final class SiteProfile {
+
+    private final double[] weights = new double[BUCKET_COUNT];
+    private double total;
+
+    synchronized void record(int size, double weight) {
+      for (int i = 0; i < weights.length; i++) {
+        weights[i] *= decay;
+      }
+      total = total * decay + weight;
+      weights[bucketOf(size)] += weight;
+    }
+
+    synchronized int percentile(double p) {
+      if (total == 0) {
+        return INITIAL_CAPACITY;
+      }
+      double target = p * total;
+      double cumulative = 0;
+      int last = 0;
+      for (int i = 0; i < weights.length; i++) {
+        if (weights[i] > 0) {
+          cumulative += weights[i];
+          last = i;
+          if (cumulative >= target) {
+            return bucketUpperBound(i);
+          }
+        }
+      }
+      return bucketUpperBound(last);
+    }
+  }
+}
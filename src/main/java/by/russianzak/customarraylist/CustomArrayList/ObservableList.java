@@ -0,0 +1,309 @@
+package by.russianzak.customarraylist.CustomArrayList;
+
+import by.russianzak.customarraylist.CustomArrayList.ListChange.Kind;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * ObservableList wraps a {@link CustomArrayList} and publishes its changes as batches of
+ * {@link ListChange}s through a {@link Flow.Publisher}. Outside a {@link #batch(Runnable)} every
+ * mutation is published as a batch of its own; inside one, changes are collected, adjacent
+ * changes of the same kind are coalesced, and the whole batch is published when the outermost
+ * batch ends.
+ *
+ * <p>Delivery runs on the publisher's executor, and each subscriber has a bounded buffer. When a
+ * subscriber's buffer is full, publishing blocks until it has requested more, so slow consumers
+ * slow the producer down instead of losing changes. While there are no subscribers no change is
+ * recorded at all. Mutations must come from one thread at a time.
+ *
+ * @param <T> the type of elements in this list
+ */
+public class ObservableList<T> extends AbstractList<T>
+    implements List<T>, Flow.Publisher<List<ListChange<T>>>, AutoCloseable {
+
+  private final CustomArrayList<T> delegate;
+  private final SubmissionPublisher<List<ListChange<T>>> publisher;
+  private List<ListChange<T>> pending = new ArrayList<>();
+  private List<T> pendingValues;
+  private int batchDepth;
+
+  /**
+   * Constructs an observable view of the specified list, delivering changes on the common
+   * fork/join pool.
+   *
+   * @param delegate the list to observe; it must only be modified through this wrapper
+   */
+  public ObservableList(CustomArrayList<T> delegate) {
+    this(delegate, new SubmissionPublisher<>());
+  }
+
+  /**
+   * Constructs an observable view of the specified list, delivering changes on the specified
+   * executor with the specified buffer capacity per subscriber.
+   *
+   * @param delegate          the list to observe; it must only be modified through this wrapper
+   * @param executor          the executor delivering changes to subscribers
+   * @param maxBufferCapacity the maximum number of batches buffered per subscriber
+   * @throws IllegalArgumentException if {@code maxBufferCapacity} is not positive
+   */
+  public ObservableList(CustomArrayList<T> delegate, Executor executor, int maxBufferCapacity) {
+    this(delegate, new SubmissionPublisher<>(executor, maxBufferCapacity));
+  }
+
+  private ObservableList(CustomArrayList<T> delegate,
+      SubmissionPublisher<List<ListChange<T>>> publisher) {
+    this.delegate = Objects.requireNonNull(delegate);
+    this.publisher = publisher;
+  }
+
+  /**
+   * Adds the subscriber. It receives the batches published after it subscribed.
+   *
+   * @param subscriber the subscriber to add
+   * @throws NullPointerException if the subscriber is null
+   */
+  @Override
+  public void subscribe(Flow.Subscriber<? super List<ListChange<T>>> subscriber) {
+    publisher.subscribe(subscriber);
+  }
+
+  /**
+   * Returns the number of elements in this list.
+   *
+   * @return the number of elements in this list
+   */
+  @Override
+  public int size() {
+    return delegate.size();
+  }
+
+  /**
+   * Returns the element at the specified position in this list.
+   *
+   * @param index the index of the element to be returned
+   * @return the element at the specified position
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  @Override
+  public T get(int index) {
+    return delegate.get(index);
+  }
+
+  /**
+   * Replaces the element at the specified position and records a {@link Kind#SET} change.
+   *
+   * @param index   the index of the element to replace
+   * @param element the element to be stored at the specified position
+   * @return the element previously at the specified position
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  @Override
+  public T set(int index, T element) {
+    T oldValue = delegate.set(index, element);
+    if (publisher.hasSubscribers()) {
+      record(Kind.SET, index, index + 1, values(element), null);
+    }
+    return oldValue;
+  }
+
+  /**
+   * Inserts the specified element at the specified position and records an {@link Kind#ADDED}
+   * change.
+   *
+   * @param index   the index at which the specified element is to be inserted
+   * @param element the element to be inserted
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  @Override
+  public void add(int index, T element) {
+    delegate.add(index, element);
+    modCount++;
+    if (publisher.hasSubscribers()) {
+      record(Kind.ADDED, index, index + 1, values(element), null);
+    }
+  }
+
+  /**
+   * Inserts all the elements of the collection at the specified position and records them as one
+   * {@link Kind#ADDED} change.
+   *
+   * @param index the index at which to insert the first element
+   * @param c     the collection containing elements to be added
+   * @return true if this list changed as a result of the call
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  @Override
+  public boolean addAll(int index, Collection<? extends T> c) {
+    List<T> added = new CustomArrayList<>(c.size());
+    added.addAll(c);
+    if (!delegate.addAll(index, added)) {
+      return false;
+    }
+    modCount++;
+    if (publisher.hasSubscribers()) {
+      record(Kind.ADDED, index, index + added.size(), added, null);
+    }
+    return true;
+  }
+
+  /**
+   * Removes the element at the specified position and records a {@link Kind#REMOVED} change.
+   *
+   * @param index the index of the element to be removed
+   * @return the element that was removed
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  @Override
+  public T remove(int index) {
+    T removed = delegate.remove(index);
+    modCount++;
+    if (publisher.hasSubscribers()) {
+      record(Kind.REMOVED, index, index + 1, null, null);
+    }
+    return removed;
+  }
+
+  /**
+   * Removes the elements in {@code [fromIndex, toIndex)} and records them as one
+   * {@link Kind#REMOVED} change.
+   *
+   * @param fromIndex the index of the first element to be removed
+   * @param toIndex   the index after the last element to be removed
+   * @throws IndexOutOfBoundsException if the range is out of bounds
+   */
+  @Override
+  protected void removeRange(int fromIndex, int toIndex) {
+    delegate.removeRange(fromIndex, toIndex);
+    if (fromIndex == toIndex) {
+      return;
+    }
+    modCount++;
+    if (publisher.hasSubscribers()) {
+      record(Kind.REMOVED, fromIndex, toIndex, null, null);
+    }
+  }
+
+  /**
+   * Sorts this list with a stable sort and records a {@link Kind#PERMUTED} change mapping every
+   * new position to the old one. While there are subscribers the permutation is computed once
+   * and then applied to the list, so the elements are only compared once.
+   *
+   * @param comparator the comparator to determine the order of the elements, or {@code null} for
+   *                   natural ordering
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public void sort(Comparator<? super T> comparator) {
+    if (!publisher.hasSubscribers() || size() < 2) {
+      delegate.sort(comparator);
+      modCount++;
+      return;
+    }
+    Comparator<? super T> order = comparator != null
+        ? comparator : (Comparator<? super T>) Comparator.naturalOrder();
+    int[] permutation = IndexSort.sortedOrder(size(),
+        (a, b) -> order.compare(delegate.get(a), delegate.get(b)));
+    delegate.reorder(permutation);
+    modCount++;
+    record(Kind.PERMUTED, 0, permutation.length, null, permutation);
+  }
+
+  /**
+   * Runs the specified changes as one batch: their changes are coalesced and published together
+   * when the outermost batch ends, even if it ends with an exception. Batches may nest.
+   *
+   * @param changes the code modifying this list
+   */
+  public void batch(Runnable changes) {
+    batchDepth++;
+    try {
+      changes.run();
+    } finally {
+      if (--batchDepth == 0) {
+        flush();
+      }
+    }
+  }
+
+  /**
+   * Completes every subscriber after the batches already published have been delivered. Later
+   * changes are no longer published.
+   */
+  @Override
+  public void close() {
+    publisher.close();
+  }
+
+  /**
+   * Records a change. The values list must be a fresh list owned by this method: while its change
+   * is the last pending one, later changes are coalesced into it in place.
+   */
+  private void record(Kind kind, int from, int to, List<T> values, int[] permutation) {
+    if (!coalesce(kind, from, to, values)) {
+      pending.add(new ListChange<>(kind, from, to, values, permutation));
+      pendingValues = values;
+    }
+    if (batchDepth == 0) {
+      flush();
+    }
+  }
+
+  private boolean coalesce(Kind kind, int from, int to, List<T> values) {
+    if (pending.isEmpty()) {
+      return false;
+    }
+    int lastIndex = pending.size() - 1;
+    ListChange<T> last = pending.get(lastIndex);
+    int lastFrom = last.from();
+    int lastTo = last.to();
+    ListChange<T> merged = null;
+    if (kind == Kind.ADDED && last.kind() == Kind.ADDED && from >= lastFrom && from <= lastTo) {
+      pendingValues.addAll(from - lastFrom, values);
+      merged = new ListChange<>(Kind.ADDED, lastFrom, lastTo + (to - from), pendingValues, null);
+    } else if (kind == Kind.REMOVED && last.kind() == Kind.REMOVED
+        && (from == lastFrom || to == lastFrom)) {
+      merged = new ListChange<>(Kind.REMOVED, from, from + (lastTo - lastFrom) + (to - from),
+          null, null);
+    } else if (kind == Kind.SET && (last.kind() == Kind.ADDED || last.kind() == Kind.SET)
+        && from >= lastFrom && to <= lastTo) {
+      for (int i = from; i < to; i++) {
+        pendingValues.set(i - lastFrom, values.get(i - from));
+      }
+      return true;
+    } else if (kind == Kind.SET && last.kind() == Kind.SET && (to == lastFrom || from == lastTo)) {
+      pendingValues.addAll(to == lastFrom ? 0 : pendingValues.size(), values);
+      merged = new ListChange<>(Kind.SET, Math.min(from, lastFrom), Math.max(to, lastTo),
+          pendingValues, null);
+    }
+    if (merged == null) {
+      return false;
+    }
+    pending.set(lastIndex, merged);
+    return true;
+  }
+
+  private void flush() {
+    if (pending.isEmpty()) {
+      return;
+    }
+    List<ListChange<T>> batch = pending;
+    pending = new ArrayList<>();
+    pendingValues = null;
+    if (!publisher.isClosed()) {
+      publisher.submit(batch);
+    }
+  }
+
+  private static <T> List<T> values(T element) {
+    List<T> values = new CustomArrayList<>(1);
+    values.add(element);
+    return values;
+  }
+}
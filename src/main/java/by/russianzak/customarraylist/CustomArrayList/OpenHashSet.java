@@ -0,0 +1,49 @@
+package by.russianzak.customarraylist.CustomArrayList;
+
+import java.util.Objects;
+
+/**
+ * A minimal insert-only hash set with open addressing and linear probing, sized once for an
+ * expected number of elements. It stores elements in a single array without per-entry nodes and
+ * is meant to live only for the duration of one bulk operation.
+ */
+final class OpenHashSet {
+
+  private static final Object NULL_KEY = new Object();
+
+  private final Object[] table;
+  private final int mask;
+
+  /**
+   * Creates a set able to hold {@code expectedSize} elements at a load factor of at most one half.
+   */
+  OpenHashSet(int expectedSize) {
+    int capacity = Integer.highestOneBit(Math.max(2, expectedSize) * 2 - 1) << 1;
+    table = new Object[capacity];
+    mask = capacity - 1;
+  }
+
+  /**
+   * Adds the element unless an equal element is already present.
+   *
+   * @return {@code true} if the element was added, {@code false} if it was already present
+   */
+  boolean add(Object element) {
+    Object key = element == null ? NULL_KEY : element;
+    int index = mix(key.hashCode()) & mask;
+    Object current;
+    while ((current = table[index]) != null) {
+      if (current == key || Objects.equals(current, key)) {
+        return false;
+      }
+      index = (index + 1) & mask;
+    }
+    table[index] = key;
+    return true;
+  }
+
+  private static int mix(int hash) {
+    int h = hash * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+}
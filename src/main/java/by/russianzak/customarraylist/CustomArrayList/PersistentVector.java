@@ -0,0 +1,558 @@
+package by.russianzak.customarraylist.CustomArrayList;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * PersistentVector is an immutable indexed sequence backed by a 32-way trie with a tail buffer.
+ * Every "modifying" operation returns a new version that shares all untouched nodes with the
+ * original, so {@code get}, {@code set} and {@code append} run in O(log32 n) and versions may be
+ * shared between threads without copying.
+ *
+ * @param <T> the type of elements in this vector
+ */
+public final class PersistentVector<T> implements Iterable<T> {
+
+  private static final int BITS = 5;
+  private static final int WIDTH = 1 << BITS;
+  private static final int MASK = WIDTH - 1;
+  private static final Node EMPTY_NODE = new Node(null, new Object[WIDTH]);
+  private static final PersistentVector<?> EMPTY =
+      new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0], null);
+
+  private final int size;
+  private final int shift;
+  private final Node root;
+  private final Object[] tail;
+  private final Object[] flat;
+  private volatile PersistentVector<T> expanded;
+
+  private PersistentVector(int size, int shift, Node root, Object[] tail, Object[] flat) {
+    this.size = size;
+    this.shift = shift;
+    this.root = root;
+    this.tail = tail;
+    this.flat = flat;
+  }
+
+  /**
+   * Returns the empty vector.
+   *
+   * @param <T> the type of elements in the vector
+   * @return the empty vector
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> PersistentVector<T> empty() {
+    return (PersistentVector<T>) EMPTY;
+  }
+
+  /**
+   * Returns a vector containing the specified elements in order.
+   *
+   * @param values the elements of the vector
+   * @param <T>    the type of elements in the vector
+   * @return a vector containing the specified elements
+   */
+  @SafeVarargs
+  public static <T> PersistentVector<T> of(T... values) {
+    Builder<T> builder = builder();
+    for (T value : values) {
+      builder.add(value);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns a new transient builder for bulk construction of a vector.
+   *
+   * @param <T> the type of elements in the vector
+   * @return a new empty builder
+   */
+  public static <T> Builder<T> builder() {
+    return PersistentVector.<T>empty().toBuilder();
+  }
+
+  /**
+   * Wraps the backing array of a frozen list without copying. The array must never be written
+   * again, which the frozen list guarantees.
+   */
+  static <T> PersistentVector<T> wrapFrozen(Object[] array, int size) {
+    if (size == 0) {
+      return empty();
+    }
+    return new PersistentVector<>(size, BITS, EMPTY_NODE, null, array);
+  }
+
+  /**
+   * Returns the number of elements in this vector.
+   *
+   * @return the number of elements in this vector
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Checks if this vector is empty.
+   *
+   * @return {@code true} if this vector contains no elements, {@code false} otherwise
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the element at the specified position in this vector.
+   *
+   * @param index the index of the element to be returned
+   * @return the element at the specified position in this vector
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  @SuppressWarnings("unchecked")
+  public T get(int index) {
+    Objects.checkIndex(index, size);
+
+    if (flat != null) {
+      return (T) flat[index];
+    }
+    return (T) arrayFor(index)[index & MASK];
+  }
+
+  /**
+   * Returns a new vector with the element at the specified position replaced. This vector is left
+   * unchanged.
+   *
+   * @param index   the index of the element to replace
+   * @param element the element to be stored at the specified position
+   * @return a new vector with the element replaced
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public PersistentVector<T> set(int index, T element) {
+    Objects.checkIndex(index, size);
+
+    if (flat != null) {
+      return expand().set(index, element);
+    }
+    if (index >= tailOffset()) {
+      Object[] newTail = tail.clone();
+      newTail[index & MASK] = element;
+      return new PersistentVector<>(size, shift, root, newTail, null);
+    }
+    return new PersistentVector<>(size, shift, doSet(shift, root, index, element), tail, null);
+  }
+
+  /**
+   * Returns a new vector with the specified element appended to the end. This vector is left
+   * unchanged.
+   *
+   * @param element the element to be appended
+   * @return a new vector with the element appended
+   */
+  public PersistentVector<T> append(T element) {
+    if (flat != null) {
+      return expand().append(element);
+    }
+    if (size - tailOffset() < WIDTH) {
+      Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+      newTail[tail.length] = element;
+      return new PersistentVector<>(size + 1, shift, root, newTail, null);
+    }
+    Node tailNode = new Node(null, tail);
+    Node newRoot;
+    int newShift = shift;
+    if ((size >>> BITS) > (1 << shift)) {
+      newRoot = new Node(null, new Object[WIDTH]);
+      newRoot.array[0] = root;
+      newRoot.array[1] = newPath(null, shift, tailNode);
+      newShift += BITS;
+    } else {
+      newRoot = pushTail(shift, root, tailNode);
+    }
+    return new PersistentVector<>(size + 1, newShift, newRoot, new Object[]{element}, null);
+  }
+
+  /**
+   * Returns a new vector without the last element. This vector is left unchanged.
+   *
+   * @return a new vector without the last element
+   * @throws IllegalStateException if this vector is empty
+   */
+  public PersistentVector<T> pop() {
+    if (size == 0) {
+      throw new IllegalStateException("Can't pop empty vector");
+    }
+    if (size == 1) {
+      return empty();
+    }
+    if (flat != null) {
+      return expand().pop();
+    }
+    if (size - tailOffset() > 1) {
+      return new PersistentVector<>(size - 1, shift, root, Arrays.copyOf(tail, tail.length - 1),
+          null);
+    }
+    Object[] newTail = arrayFor(size - 2);
+    Node newRoot = popTail(shift, root);
+    int newShift = shift;
+    if (newRoot == null) {
+      newRoot = EMPTY_NODE;
+    }
+    if (shift > BITS && newRoot.array[1] == null) {
+      newRoot = (Node) newRoot.array[0];
+      newShift -= BITS;
+    }
+    return new PersistentVector<>(size - 1, newShift, newRoot, newTail, null);
+  }
+
+  /**
+   * Returns a transient builder initialised with the contents of this vector. The builder shares
+   * structure with this vector and copies nodes only on first write.
+   *
+   * @return a new builder containing the elements of this vector
+   */
+  public Builder<T> toBuilder() {
+    if (flat != null) {
+      return expand().toBuilder();
+    }
+    return new Builder<>(this);
+  }
+
+  /**
+   * Returns an unmodifiable {@link List} view of this vector.
+   *
+   * @return an unmodifiable list view of this vector
+   */
+  public List<T> asList() {
+    return new AbstractList<>() {
+      @Override
+      public T get(int index) {
+        return PersistentVector.this.get(index);
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  /**
+   * Returns an iterator over the elements in this vector in proper sequence.
+   *
+   * @return an iterator over the elements in this vector
+   */
+  @Override
+  public Iterator<T> iterator() {
+    return new Iterator<>() {
+      private int index;
+      private Object[] chunk = flat;
+      private int chunkBase;
+
+      @Override
+      public boolean hasNext() {
+        return index < size;
+      }
+
+      @Override
+      @SuppressWarnings("unchecked")
+      public T next() {
+        if (index >= size) {
+          throw new NoSuchElementException();
+        }
+        if (flat != null) {
+          return (T) flat[index++];
+        }
+        if (chunk == null || index - chunkBase == WIDTH) {
+          chunk = arrayFor(index);
+          chunkBase = index;
+        }
+        return (T) chunk[index++ - chunkBase];
+      }
+    };
+  }
+
+  /**
+   * Checks if this vector equals to the specified object.
+   *
+   * @param o the object to compare with this vector
+   * @return true if the specified object is a vector with equal elements in the same order
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof PersistentVector<?> other) || size != other.size) {
+      return false;
+    }
+    Iterator<?> it = other.iterator();
+    for (T element : this) {
+      if (!Objects.equals(element, it.next())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the hash code value for this vector, computed as for {@link List#hashCode()}.
+   *
+   * @return the hash code value for this vector
+   */
+  @Override
+  public int hashCode() {
+    int result = 1;
+    for (T element : this) {
+      result = 31 * result + Objects.hashCode(element);
+    }
+    return result;
+  }
+
+  /**
+   * Returns a string representation of this vector.
+   *
+   * @return a string representation of this vector
+   */
+  @Override
+  public String toString() {
+    return asList().toString();
+  }
+
+  private PersistentVector<T> expand() {
+    PersistentVector<T> result = expanded;
+    if (result == null) {
+      Builder<T> builder = PersistentVector.<T>empty().toBuilder();
+      for (int i = 0; i < size; i++) {
+        builder.addRaw(flat[i]);
+      }
+      result = builder.build();
+      expanded = result;
+    }
+    return result;
+  }
+
+  private int tailOffset() {
+    return tailOffset(size);
+  }
+
+  private static int tailOffset(int size) {
+    return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+  }
+
+  private Object[] arrayFor(int index) {
+    if (index >= tailOffset()) {
+      return tail;
+    }
+    Node node = root;
+    for (int level = shift; level > 0; level -= BITS) {
+      node = (Node) node.array[(index >>> level) & MASK];
+    }
+    return node.array;
+  }
+
+  private static Node doSet(int level, Node node, int index, Object element) {
+    Node result = new Node(null, node.array.clone());
+    if (level == 0) {
+      result.array[index & MASK] = element;
+    } else {
+      int subIndex = (index >>> level) & MASK;
+      result.array[subIndex] = doSet(level - BITS, (Node) node.array[subIndex], index, element);
+    }
+    return result;
+  }
+
+  private Node pushTail(int level, Node parent, Node tailNode) {
+    int subIndex = ((size - 1) >>> level) & MASK;
+    Node result = new Node(null, parent.array.clone());
+    Node toInsert;
+    if (level == BITS) {
+      toInsert = tailNode;
+    } else {
+      Node child = (Node) parent.array[subIndex];
+      toInsert = child != null
+          ? pushTail(level - BITS, child, tailNode)
+          : newPath(null, level - BITS, tailNode);
+    }
+    result.array[subIndex] = toInsert;
+    return result;
+  }
+
+  private Node popTail(int level, Node node) {
+    int subIndex = ((size - 2) >>> level) & MASK;
+    if (level > BITS) {
+      Node newChild = popTail(level - BITS, (Node) node.array[subIndex]);
+      if (newChild == null && subIndex == 0) {
+        return null;
+      }
+      Node result = new Node(null, node.array.clone());
+      result.array[subIndex] = newChild;
+      return result;
+    }
+    if (subIndex == 0) {
+      return null;
+    }
+    Node result = new Node(null, node.array.clone());
+    result.array[subIndex] = null;
+    return result;
+  }
+
+  private static Node newPath(Object edit, int level, Node node) {
+    if (level == 0) {
+      return node;
+    }
+    Node result = new Node(edit, new Object[WIDTH]);
+    result.array[0] = newPath(edit, level - BITS, node);
+    return result;
+  }
+
+  /**
+   * A trie node. Nodes created by a {@link Builder} carry its edit token and may be mutated in
+   * place until the builder publishes a vector.
+   */
+  private static final class Node {
+
+    private final Object edit;
+    private final Object[] array;
+
+    Node(Object edit, Object[] array) {
+      this.edit = edit;
+      this.array = array;
+    }
+  }
+
+  /**
+   * A transient, single-threaded builder for {@link PersistentVector}. Nodes owned by the builder
+   * are updated in place, so bulk construction avoids the per-step path copying of the persistent
+   * operations.
+   *
+   * @param <T> the type of elements in the vector
+   */
+  public static final class Builder<T> {
+
+    private Object edit = new Object();
+    private int size;
+    private int shift;
+    private Node root;
+    private Object[] tail;
+
+    private Builder(PersistentVector<T> vector) {
+      this.size = vector.size;
+      this.shift = vector.shift;
+      this.root = vector.root;
+      this.tail = Arrays.copyOf(vector.tail, WIDTH);
+    }
+
+    /**
+     * Returns the number of elements added to this builder so far.
+     *
+     * @return the number of elements in this builder
+     */
+    public int size() {
+      return size;
+    }
+
+    /**
+     * Appends the specified element.
+     *
+     * @param element the element to be appended
+     * @return this builder
+     */
+    public Builder<T> add(T element) {
+      return addRaw(element);
+    }
+
+    /**
+     * Replaces the element at the specified position.
+     *
+     * @param index   the index of the element to replace
+     * @param element the element to be stored at the specified position
+     * @return this builder
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public Builder<T> set(int index, T element) {
+      Objects.checkIndex(index, size);
+
+      if (index >= tailOffset(size)) {
+        tail[index & MASK] = element;
+      } else {
+        root = doSet(shift, root, index, element);
+      }
+      return this;
+    }
+
+    /**
+     * Returns a persistent vector with the current contents of this builder. The builder stays
+     * usable; further changes copy any node shared with the returned vector.
+     *
+     * @return a persistent vector with the contents of this builder
+     */
+    public PersistentVector<T> build() {
+      if (size == 0) {
+        return empty();
+      }
+      PersistentVector<T> vector = new PersistentVector<>(size, shift, root,
+          Arrays.copyOf(tail, size - tailOffset(size)), null);
+      edit = new Object();
+      return vector;
+    }
+
+    private Builder<T> addRaw(Object element) {
+      int index = size;
+      if (index - tailOffset(size) < WIDTH) {
+        tail[index & MASK] = element;
+        size++;
+        return this;
+      }
+      Node tailNode = new Node(edit, tail);
+      tail = new Object[WIDTH];
+      tail[0] = element;
+      if ((size >>> BITS) > (1 << shift)) {
+        Node newRoot = new Node(edit, new Object[WIDTH]);
+        newRoot.array[0] = root;
+        newRoot.array[1] = newPath(edit, shift, tailNode);
+        root = newRoot;
+        shift += BITS;
+      } else {
+        root = pushTail(shift, root, tailNode);
+      }
+      size++;
+      return this;
+    }
+
+    private Node editable(Node node) {
+      return node.edit == edit ? node : new Node(edit, node.array.clone());
+    }
+
+    private Node pushTail(int level, Node parent, Node tailNode) {
+      int subIndex = ((size - 1) >>> level) & MASK;
+      Node result = editable(parent);
+      Node toInsert;
+      if (level == BITS) {
+        toInsert = tailNode;
+      } else {
+        Node child = (Node) result.array[subIndex];
+        toInsert = child != null
+            ? pushTail(level - BITS, child, tailNode)
+            : newPath(edit, level - BITS, tailNode);
+      }
+      result.array[subIndex] = toInsert;
+      return result;
+    }
+
+    private Node doSet(int level, Node node, int index, Object element) {
+      Node result = editable(node);
+      if (level == 0) {
+        result.array[index & MASK] = element;
+      } else {
+        int subIndex = (index >>> level) & MASK;
+        result.array[subIndex] = doSet(level - BITS, (Node) result.array[subIndex], index,
+            element);
+      }
+      return result;
+    }
+  }
+}
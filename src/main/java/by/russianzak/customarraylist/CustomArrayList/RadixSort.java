@@ -0,0 +1,240 @@
+package by.russianzak.customarraylist.CustomArrayList;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Stable least-significant-digit radix sort over primitive keys. Keys are sorted one byte at a
+ * time, at their own width; a pass is skipped when every key has the same digit, so narrow key
+ * ranges cost fewer passes. Each key carries a companion slot, either the element it was extracted
+ * from or its original position, and both move together between the input and a single scratch
+ * pair, so the caller's storage ends up sorted without a separate permutation step.
+ */
+final class RadixSort {
+
+  private static final int RADIX_BITS = 8;
+  private static final int RADIX = 1 << RADIX_BITS;
+  private static final int DIGIT_MASK = RADIX - 1;
+  private static final int SIGN_DIGIT = RADIX >>> 1;
+  private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+  private RadixSort() {
+  }
+
+  /**
+   * Sorts the first {@code n} keys into stable ascending signed order, moving each value with its
+   * key.
+   */
+  static void sort(int[] keys, Object[] values, int n, boolean parallel) {
+    sortInts(keys, values, n, parallel);
+  }
+
+  /**
+   * Sorts the first {@code n} keys into stable ascending signed order, moving each value with its
+   * key.
+   */
+  static void sort(long[] keys, Object[] values, int n, boolean parallel) {
+    sortLongs(keys, values, n, parallel);
+  }
+
+  /**
+   * Sorts the keys in place and returns their original positions in stable ascending signed
+   * order.
+   */
+  static int[] sortedOrder(int[] keys, boolean parallel) {
+    int[] order = identity(keys.length);
+    sortInts(keys, order, keys.length, parallel);
+    return order;
+  }
+
+  /**
+   * Sorts the keys in place and returns their original positions in stable ascending signed
+   * order.
+   */
+  static int[] sortedOrder(long[] keys, boolean parallel) {
+    int[] order = identity(keys.length);
+    sortLongs(keys, order, keys.length, parallel);
+    return order;
+  }
+
+  private static void sortInts(int[] keys, Object companion, int n, boolean parallel) {
+    int chunks = chunkCount(n, parallel);
+    int chunkSize = (n + chunks - 1) / chunks;
+    int[][] counts = new int[chunks][RADIX];
+    int[] keyScratch = new int[n];
+    Object companionScratch = scratchFor(companion, n);
+
+    int[] source = keys;
+    Object sourceCompanion = companion;
+    int[] target = keyScratch;
+    Object targetCompanion = companionScratch;
+    for (int digit = 0; digit < Integer.BYTES; digit++) {
+      final int shift = digit * RADIX_BITS;
+      final int flip = digit == Integer.BYTES - 1 ? SIGN_DIGIT : 0;
+      final int[] in = source;
+      final Object inCompanion = sourceCompanion;
+      final int[] out = target;
+      final Object outCompanion = targetCompanion;
+
+      forEachChunk(chunks, chunk -> {
+        int[] count = counts[chunk];
+        Arrays.fill(count, 0);
+        int to = Math.min(n, (chunk + 1) * chunkSize);
+        for (int i = chunk * chunkSize; i < to; i++) {
+          count[((in[i] >>> shift) & DIGIT_MASK) ^ flip]++;
+        }
+      });
+      if (!toStartOffsets(counts, n)) {
+        continue;
+      }
+      forEachChunk(chunks, chunk -> {
+        int[] offsets = counts[chunk];
+        int from = chunk * chunkSize;
+        int to = Math.min(n, from + chunkSize);
+        if (inCompanion instanceof int[] positions) {
+          int[] positionsOut = (int[]) outCompanion;
+          for (int i = from; i < to; i++) {
+            int position = offsets[((in[i] >>> shift) & DIGIT_MASK) ^ flip]++;
+            out[position] = in[i];
+            positionsOut[position] = positions[i];
+          }
+        } else {
+          Object[] values = (Object[]) inCompanion;
+          Object[] valuesOut = (Object[]) outCompanion;
+          for (int i = from; i < to; i++) {
+            int position = offsets[((in[i] >>> shift) & DIGIT_MASK) ^ flip]++;
+            out[position] = in[i];
+            valuesOut[position] = values[i];
+          }
+        }
+      });
+      source = out;
+      sourceCompanion = outCompanion;
+      target = in;
+      targetCompanion = inCompanion;
+    }
+    if (source != keys) {
+      System.arraycopy(source, 0, keys, 0, n);
+      System.arraycopy(sourceCompanion, 0, companion, 0, n);
+    }
+  }
+
+  private static void sortLongs(long[] keys, Object companion, int n, boolean parallel) {
+    int chunks = chunkCount(n, parallel);
+    int chunkSize = (n + chunks - 1) / chunks;
+    int[][] counts = new int[chunks][RADIX];
+    long[] keyScratch = new long[n];
+    Object companionScratch = scratchFor(companion, n);
+
+    long[] source = keys;
+    Object sourceCompanion = companion;
+    long[] target = keyScratch;
+    Object targetCompanion = companionScratch;
+    for (int digit = 0; digit < Long.BYTES; digit++) {
+      final int shift = digit * RADIX_BITS;
+      final int flip = digit == Long.BYTES - 1 ? SIGN_DIGIT : 0;
+      final long[] in = source;
+      final Object inCompanion = sourceCompanion;
+      final long[] out = target;
+      final Object outCompanion = targetCompanion;
+
+      forEachChunk(chunks, chunk -> {
+        int[] count = counts[chunk];
+        Arrays.fill(count, 0);
+        int to = Math.min(n, (chunk + 1) * chunkSize);
+        for (int i = chunk * chunkSize; i < to; i++) {
+          count[((int) (in[i] >>> shift) & DIGIT_MASK) ^ flip]++;
+        }
+      });
+      if (!toStartOffsets(counts, n)) {
+        continue;
+      }
+      forEachChunk(chunks, chunk -> {
+        int[] offsets = counts[chunk];
+        int from = chunk * chunkSize;
+        int to = Math.min(n, from + chunkSize);
+        if (inCompanion instanceof int[] positions) {
+          int[] positionsOut = (int[]) outCompanion;
+          for (int i = from; i < to; i++) {
+            int position = offsets[((int) (in[i] >>> shift) & DIGIT_MASK) ^ flip]++;
+            out[position] = in[i];
+            positionsOut[position] = positions[i];
+          }
+        } else {
+          Object[] values = (Object[]) inCompanion;
+          Object[] valuesOut = (Object[]) outCompanion;
+          for (int i = from; i < to; i++) {
+            int position = offsets[((int) (in[i] >>> shift) & DIGIT_MASK) ^ flip]++;
+            out[position] = in[i];
+            valuesOut[position] = values[i];
+          }
+        }
+      });
+      source = out;
+      sourceCompanion = outCompanion;
+      target = in;
+      targetCompanion = inCompanion;
+    }
+    if (source != keys) {
+      System.arraycopy(source, 0, keys, 0, n);
+      System.arraycopy(sourceCompanion, 0, companion, 0, n);
+    }
+  }
+
+  private static int chunkCount(int n, boolean parallel) {
+    if (!parallel || n < PARALLEL_THRESHOLD) {
+      return 1;
+    }
+    return Math.max(1, Math.min(n / (PARALLEL_THRESHOLD / 4),
+        Runtime.getRuntime().availableProcessors() * 4));
+  }
+
+  private static void forEachChunk(int chunks, IntConsumer body) {
+    if (chunks == 1) {
+      body.accept(0);
+    } else {
+      IntStream.range(0, chunks).parallel().forEach(body);
+    }
+  }
+
+  private static Object scratchFor(Object companion, int n) {
+    return companion instanceof int[] ? new int[n] : new Object[n];
+  }
+
+  private static int[] identity(int n) {
+    int[] order = new int[n];
+    for (int i = 0; i < n; i++) {
+      order[i] = i;
+    }
+    return order;
+  }
+
+  /**
+   * Turns the per-chunk digit counts into per-chunk start offsets, digit by digit. Returns
+   * {@code false}, leaving the counts untouched, if every key has the same digit.
+   */
+  private static boolean toStartOffsets(int[][] counts, int n) {
+    for (int d = 0; d < RADIX; d++) {
+      int total = 0;
+      for (int[] count : counts) {
+        total += count[d];
+      }
+      if (total == n) {
+        return false;
+      }
+      if (total != 0) {
+        break;
+      }
+    }
+    int running = 0;
+    for (int d = 0; d < RADIX; d++) {
+      for (int[] count : counts) {
+        int c = count[d];
+        count[d] = running;
+        running += c;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,268 @@
+package by.russianzak.customarraylist.CustomArrayList;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * ReferenceList is a {@link List} that holds its elements through soft or weak references, so the
+ * garbage collector may reclaim them under memory pressure. A reclaimed element reads as
+ * {@code null} until its entry is expunged. Cleared references are registered with a
+ * {@link ReferenceQueue}; mutations drain the queue and, once enough entries have been cleared,
+ * remove all of them in one compacting pass, so the cost of expunging is amortized over many
+ * operations. Compaction shifts the indices of the surviving elements down.
+ *
+ * <p>Null elements are not permitted, since {@code null} is how a cleared entry reads.
+ *
+ * @param <T> the type of elements in this list
+ */
+public class ReferenceList<T> extends AbstractList<T> implements List<T> {
+
+  /**
+   * How strongly the list holds on to its elements.
+   */
+  public enum Strength {
+    /**
+     * Elements are held through {@link SoftReference}s and cleared only under memory pressure.
+     */
+    SOFT,
+    /**
+     * Elements are held through {@link WeakReference}s and cleared once no longer strongly
+     * reachable.
+     */
+    WEAK
+  }
+
+  private static final int INITIAL_CAPACITY = 10;
+  private static final int MIN_EXPUNGE_BATCH = 16;
+
+  private final Strength strength;
+  private final ReferenceQueue<T> queue = new ReferenceQueue<>();
+  private final IntConsumer evictionListener;
+  private Reference<T>[] entries;
+  private int size;
+  private int pendingStale;
+  private long hitCount;
+  private long clearedCount;
+  private long expungedCount;
+
+  /**
+   * Constructs an empty list holding its elements with the specified strength.
+   *
+   * @param strength how the elements are referenced
+   */
+  public ReferenceList(Strength strength) {
+    this(strength, null);
+  }
+
+  /**
+   * Constructs an empty list holding its elements with the specified strength and notifying the
+   * listener with the number of entries removed by every compaction.
+   *
+   * @param strength         how the elements are referenced
+   * @param evictionListener receives the number of cleared entries expunged, or {@code null}
+   */
+  @SuppressWarnings("unchecked")
+  public ReferenceList(Strength strength, IntConsumer evictionListener) {
+    this.strength = Objects.requireNonNull(strength);
+    this.evictionListener = evictionListener;
+    this.entries = (Reference<T>[]) new Reference<?>[INITIAL_CAPACITY];
+  }
+
+  /**
+   * Returns the number of entries in this list, including cleared entries not yet expunged.
+   *
+   * @return the number of entries in this list
+   */
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the element at the specified position, or {@code null} if it has been reclaimed.
+   *
+   * @param index the index of the element to be returned
+   * @return the element at the specified position, or {@code null} if it was cleared
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  @Override
+  public T get(int index) {
+    Objects.checkIndex(index, size);
+
+    T element = entries[index].get();
+    if (element == null) {
+      clearedCount++;
+    } else {
+      hitCount++;
+    }
+    return element;
+  }
+
+  /**
+   * Replaces the element at the specified position.
+   *
+   * @param index   the index of the element to replace
+   * @param element the element to be stored at the specified position
+   * @return the element previously at the specified position, or {@code null} if it was cleared
+   * @throws IndexOutOfBoundsException if the index is out of range
+   * @throws NullPointerException      if the element is null
+   */
+  @Override
+  public T set(int index, T element) {
+    Objects.checkIndex(index, size);
+    Objects.requireNonNull(element);
+
+    Reference<T> old = entries[index];
+    entries[index] = reference(element);
+    T oldValue = old.get();
+    old.clear();
+    return oldValue;
+  }
+
+  /**
+   * Inserts the specified element at the specified position, after expunging cleared entries if
+   * enough have accumulated. The index refers to positions before that compaction.
+   *
+   * @param index   the index at which the specified element is to be inserted
+   * @param element the element to be inserted
+   * @throws IndexOutOfBoundsException if the index is out of range
+   * @throws NullPointerException      if the element is null
+   */
+  @Override
+  public void add(int index, T element) {
+    checkIndexForAdd(index);
+    Objects.requireNonNull(element);
+
+    modCount++;
+    if (size == entries.length) {
+      entries = Arrays.copyOf(entries, (entries.length * 3) / 2 + 1);
+    }
+    System.arraycopy(entries, index, entries, index + 1, size - index);
+    entries[index] = reference(element);
+    size++;
+    expungeIfDue();
+  }
+
+  /**
+   * Removes the entry at the specified position.
+   *
+   * @param index the index of the entry to be removed
+   * @return the element that was removed, or {@code null} if it was cleared
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  @Override
+  public T remove(int index) {
+    Objects.checkIndex(index, size);
+
+    modCount++;
+    Reference<T> removed = entries[index];
+    System.arraycopy(entries, index + 1, entries, index, size - index - 1);
+    entries[--size] = null;
+    T oldValue = removed.get();
+    removed.clear();
+    return oldValue;
+  }
+
+  /**
+   * Removes all the entries from this list.
+   */
+  @Override
+  public void clear() {
+    modCount++;
+    for (int i = 0; i < size; i++) {
+      entries[i].clear();
+      entries[i] = null;
+    }
+    size = 0;
+    pendingStale = 0;
+    while (queue.poll() != null) {
+      // Drop notifications for entries that are gone anyway.
+    }
+  }
+
+  /**
+   * Removes every entry whose element has been reclaimed, in one pass, and notifies the eviction
+   * listener.
+   *
+   * @return the number of entries removed
+   */
+  public int expungeStale() {
+    while (queue.poll() != null) {
+      // The compaction below checks every entry directly.
+    }
+    pendingStale = 0;
+    int kept = 0;
+    for (int i = 0; i < size; i++) {
+      if (entries[i].get() != null) {
+        entries[kept++] = entries[i];
+      }
+    }
+    int removed = size - kept;
+    if (removed == 0) {
+      return 0;
+    }
+    modCount++;
+    Arrays.fill(entries, kept, size, null);
+    size = kept;
+    expungedCount += removed;
+    if (evictionListener != null) {
+      evictionListener.accept(removed);
+    }
+    return removed;
+  }
+
+  /**
+   * Returns the number of reads that found their element alive.
+   *
+   * @return the number of hits
+   */
+  public long hitCount() {
+    return hitCount;
+  }
+
+  /**
+   * Returns the number of reads that found their element reclaimed.
+   *
+   * @return the number of reads of cleared entries
+   */
+  public long clearedCount() {
+    return clearedCount;
+  }
+
+  /**
+   * Returns the number of cleared entries removed by compaction so far.
+   *
+   * @return the number of expunged entries
+   */
+  public long expungedCount() {
+    return expungedCount;
+  }
+
+  private Reference<T> reference(T element) {
+    return strength == Strength.SOFT
+        ? new SoftReference<>(element, queue)
+        : new WeakReference<>(element, queue);
+  }
+
+  private void expungeIfDue() {
+    while (queue.poll() != null) {
+      pendingStale++;
+    }
+    if (pendingStale >= Math.max(MIN_EXPUNGE_BATCH, size >>> 3)) {
+      expungeStale();
+    }
+  }
+
+  private void checkIndexForAdd(int index) {
+    if (index > size || index < 0) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+  }
+}
@@ -0,0 +1,349 @@
+package by.russianzak.customarraylist.CustomArrayList;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * SparseList is a {@link List} for large index spaces that are mostly {@code null}. While sparse
+ * it stores only the non-null entries, as parallel arrays of ascending indices and values, so
+ * {@code get} and {@code set} are binary searches and scans touch only the non-null entries. Once
+ * the share of non-null entries exceeds the promotion density, the list switches to a dense
+ * {@code Object[]} layout like {@link CustomArrayList} and stays dense.
+ *
+ * @param <T> the type of elements in this list
+ */
+public class SparseList<T> extends AbstractList<T> implements List<T> {
+
+  private static final int INITIAL_CAPACITY = 10;
+  private static final double DEFAULT_PROMOTION_DENSITY = 0.25;
+  private static final int MIN_PROMOTION_SIZE = 64;
+
+  private final double promotionDensity;
+  private int size;
+  private int[] keys;
+  private Object[] values;
+  private int count;
+  private Object[] dense;
+
+  /**
+   * Constructs an empty list that becomes dense when a quarter of its entries are non-null.
+   */
+  public SparseList() {
+    this(0, DEFAULT_PROMOTION_DENSITY);
+  }
+
+  /**
+   * Constructs a list of {@code size} {@code null} entries that becomes dense when the specified
+   * share of its entries are non-null.
+   *
+   * @param size             the initial number of (null) entries
+   * @param promotionDensity the share of non-null entries above which the list turns dense
+   * @throws IllegalArgumentException if the size is negative or the density is not in (0, 1]
+   */
+  public SparseList(int size, double promotionDensity) {
+    if (size < 0) {
+      throw new IllegalArgumentException("Illegal size: " + size);
+    }
+    if (!(promotionDensity > 0 && promotionDensity <= 1)) {
+      throw new IllegalArgumentException("Illegal promotion density: " + promotionDensity);
+    }
+    this.size = size;
+    this.promotionDensity = promotionDensity;
+    keys = new int[INITIAL_CAPACITY];
+    values = new Object[INITIAL_CAPACITY];
+  }
+
+  /**
+   * Returns the number of entries, null or not, in this list.
+   *
+   * @return the number of elements in this list
+   */
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the number of non-null entries in this list.
+   *
+   * @return the number of non-null elements
+   */
+  public int nonNullCount() {
+    if (dense == null) {
+      return count;
+    }
+    int result = 0;
+    for (int i = 0; i < size; i++) {
+      if (dense[i] != null) {
+        result++;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Checks if this list still uses the sparse layout.
+   *
+   * @return {@code true} if only non-null entries are stored
+   */
+  public boolean isSparse() {
+    return dense == null;
+  }
+
+  /**
+   * Returns the element at the specified position in this list.
+   *
+   * @param index the index of the element to be returned
+   * @return the element at the specified position, possibly {@code null}
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public T get(int index) {
+    Objects.checkIndex(index, size);
+
+    if (dense != null) {
+      return (T) dense[index];
+    }
+    int slot = Arrays.binarySearch(keys, 0, count, index);
+    return slot >= 0 ? (T) values[slot] : null;
+  }
+
+  /**
+   * Replaces the element at the specified position in this list. Storing {@code null} removes the
+   * entry from the sparse layout and storing a value at a null position adds one; both count as
+   * structural modifications while the list is sparse.
+   *
+   * @param index   the index of the element to replace
+   * @param element the element to be stored at the specified position
+   * @return the element previously at the specified position
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public T set(int index, T element) {
+    Objects.checkIndex(index, size);
+
+    if (dense != null) {
+      T oldValue = (T) dense[index];
+      dense[index] = element;
+      return oldValue;
+    }
+    int slot = Arrays.binarySearch(keys, 0, count, index);
+    if (slot >= 0) {
+      T oldValue = (T) values[slot];
+      if (element == null) {
+        removeSlot(slot);
+        modCount++;
+      } else {
+        values[slot] = element;
+      }
+      return oldValue;
+    }
+    if (element != null) {
+      insertSlot(-slot - 1, index, element);
+      promoteIfDense();
+      modCount++;
+    }
+    return null;
+  }
+
+  /**
+   * Inserts the specified element at the specified position in this list, shifting the indices
+   * of the following entries up by one.
+   *
+   * @param index   the index at which the specified element is to be inserted
+   * @param element the element to be inserted, possibly {@code null}
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  @Override
+  public void add(int index, T element) {
+    checkIndexForAdd(index);
+
+    modCount++;
+    if (dense != null) {
+      if (size == dense.length) {
+        dense = Arrays.copyOf(dense, Math.max(size + 1, (dense.length * 3) / 2 + 1));
+      }
+      System.arraycopy(dense, index, dense, index + 1, size - index);
+      dense[index] = element;
+      size++;
+      return;
+    }
+    int slot = lowerBound(index);
+    for (int i = slot; i < count; i++) {
+      keys[i]++;
+    }
+    size++;
+    if (element != null) {
+      insertSlot(slot, index, element);
+      promoteIfDense();
+    }
+  }
+
+  /**
+   * Removes the element at the specified position in this list, shifting the indices of the
+   * following entries down by one.
+   *
+   * @param index the index of the element to be removed
+   * @return the element that was removed, possibly {@code null}
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public T remove(int index) {
+    Objects.checkIndex(index, size);
+
+    modCount++;
+    if (dense != null) {
+      T removed = (T) dense[index];
+      System.arraycopy(dense, index + 1, dense, index, size - index - 1);
+      dense[--size] = null;
+      return removed;
+    }
+    int slot = lowerBound(index);
+    T removed = null;
+    if (slot < count && keys[slot] == index) {
+      removed = (T) values[slot];
+      removeSlot(slot);
+    }
+    for (int i = slot; i < count; i++) {
+      keys[i]--;
+    }
+    size--;
+    return removed;
+  }
+
+  /**
+   * Returns the index of the first occurrence of the specified element. Non-null elements are
+   * searched among the stored entries only.
+   *
+   * @param o the element to search for
+   * @return the index of the first occurrence, or -1 if this list does not contain the element
+   */
+  @Override
+  public int indexOf(Object o) {
+    if (dense != null) {
+      for (int i = 0; i < size; i++) {
+        if (Objects.equals(o, dense[i])) {
+          return i;
+        }
+      }
+      return -1;
+    }
+    if (o == null) {
+      for (int i = 0; i < count; i++) {
+        if (keys[i] != i) {
+          return i;
+        }
+      }
+      return count < size ? count : -1;
+    }
+    for (int i = 0; i < count; i++) {
+      if (o.equals(values[i])) {
+        return keys[i];
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Checks if this list contains the specified element.
+   *
+   * @param o the element to be checked for containment in this list
+   * @return {@code true} if this list contains the specified element
+   */
+  @Override
+  public boolean contains(Object o) {
+    return indexOf(o) != -1;
+  }
+
+  /**
+   * Passes each non-null element and its index to the action in ascending index order, skipping
+   * the null entries without visiting them while the list is sparse.
+   *
+   * @param action the action receiving each element and its index
+   * @throws NullPointerException            if the specified action is null
+   * @throws ConcurrentModificationException if the list was modified during the iteration
+   */
+  @SuppressWarnings("unchecked")
+  public void forEachNonNull(ObjIntConsumer<? super T> action) {
+    Objects.requireNonNull(action);
+
+    final int expectedModCount = modCount;
+    if (dense != null) {
+      for (int i = 0; modCount == expectedModCount && i < size; i++) {
+        if (dense[i] != null) {
+          action.accept((T) dense[i], i);
+        }
+      }
+    } else {
+      for (int i = 0; modCount == expectedModCount && i < count; i++) {
+        action.accept((T) values[i], keys[i]);
+      }
+    }
+    if (modCount != expectedModCount) {
+      throw new ConcurrentModificationException();
+    }
+  }
+
+  /**
+   * Removes all the elements from this list.
+   */
+  @Override
+  public void clear() {
+    modCount++;
+    Arrays.fill(values, 0, count, null);
+    count = 0;
+    size = 0;
+    dense = null;
+  }
+
+  private int lowerBound(int index) {
+    int slot = Arrays.binarySearch(keys, 0, count, index);
+    return slot >= 0 ? slot : -slot - 1;
+  }
+
+  private void insertSlot(int slot, int index, Object element) {
+    if (count == keys.length) {
+      int newCapacity = (keys.length * 3) / 2 + 1;
+      keys = Arrays.copyOf(keys, newCapacity);
+      values = Arrays.copyOf(values, newCapacity);
+    }
+    System.arraycopy(keys, slot, keys, slot + 1, count - slot);
+    System.arraycopy(values, slot, values, slot + 1, count - slot);
+    keys[slot] = index;
+    values[slot] = element;
+    count++;
+  }
+
+  private void removeSlot(int slot) {
+    System.arraycopy(keys, slot + 1, keys, slot, count - slot - 1);
+    System.arraycopy(values, slot + 1, values, slot, count - slot - 1);
+    values[--count] = null;
+  }
+
+  private void promoteIfDense() {
+    if (size < MIN_PROMOTION_SIZE || count <= size * promotionDensity) {
+      return;
+    }
+    modCount++;
+    dense = new Object[size];
+    for (int i = 0; i < count; i++) {
+      dense[keys[i]] = values[i];
+    }
+    keys = new int[0];
+    values = new Object[0];
+    count = 0;
+  }
+
+  private void checkIndexForAdd(int index) {
+    if (index > size || index < 0) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+  }
+}
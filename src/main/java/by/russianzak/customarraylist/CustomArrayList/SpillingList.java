@@ -0,0 +1,452 @@
+package by.russianzak.customarraylist.CustomArrayList;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * SpillingList is an append-and-update {@link List} that keeps at most a configured number of
+ * pages of elements in memory and spills the rest to a temporary file. Resident pages are kept in
+ * least-recently-used order; when the budget is exceeded the coldest page is encoded with an
+ * {@link ElementCodec}, written with a positional NIO write if it changed, and dropped. Accessing
+ * a spilled page faults it back in with a positional read. An iterator that reaches a spilled page
+ * also loads the spilled pages after it whose slots follow on in the file, up to the prefetch
+ * count, with the same single read, so a scan over pages spilled in order pays one read per
+ * batch rather than one per page.
+ *
+ * <p>Each spilled page owns a slot in the file with a little room to spare. A rewritten page goes
+ * back into its own slot when it fits; otherwise the slot is freed and the page moves to the
+ * first free slot large enough, or to a new slot at the end of the file. The file is deleted when
+ * the list is {@linkplain #close() closed}, or once the list becomes unreachable if it never is.
+ * This list is not thread-safe.
+ *
+ * @param <T> the type of elements in this list
+ */
+public class SpillingList<T> extends AbstractList<T> implements List<T>, AutoCloseable {
+
+  private static final int DEFAULT_PAGE_SIZE = 4096;
+  private static final int DEFAULT_PREFETCH_PAGES = 4;
+  private static final int INITIAL_CAPACITY = 10;
+  private static final Cleaner CLEANER = Cleaner.create();
+
+  private final ElementCodec<T> codec;
+  private final int pageSize;
+  private final int maxResidentPages;
+  private final int prefetchPages;
+  private final FileChannel channel;
+  private final Cleaner.Cleanable cleanable;
+  private final LinkedHashMap<Integer, Page> resident = new LinkedHashMap<>(16, 0.75f, true);
+  private long[] pageOffsets = new long[INITIAL_CAPACITY];
+  private int[] pageLengths = new int[INITIAL_CAPACITY];
+  private int[] slotCapacities = new int[INITIAL_CAPACITY];
+  private long[] freeOffsets = new long[INITIAL_CAPACITY];
+  private int[] freeCapacities = new int[INITIAL_CAPACITY];
+  private int freeCount;
+  private int pageCount;
+  private long fileEnd;
+  private int size;
+  private long pageFaults;
+  private long spillReads;
+  private long pageWrites;
+
+  /**
+   * Constructs an empty list with pages of 4096 elements, keeping at most the specified number of
+   * pages in memory.
+   *
+   * @param codec            the codec used to spill elements
+   * @param maxResidentPages the number of pages kept in memory
+   * @throws UncheckedIOException if the spill file cannot be created
+   */
+  public SpillingList(ElementCodec<T> codec, int maxResidentPages) {
+    this(codec, DEFAULT_PAGE_SIZE, maxResidentPages, DEFAULT_PREFETCH_PAGES);
+  }
+
+  /**
+   * Constructs an empty list with the specified page geometry.
+   *
+   * @param codec            the codec used to spill elements
+   * @param pageSize         the number of elements per page
+   * @param maxResidentPages the number of pages kept in memory
+   * @param prefetchPages    the most pages iterators load per read
+   * @throws IllegalArgumentException if any size is not positive or the prefetch exceeds the
+   *                                  resident budget
+   * @throws UncheckedIOException     if the spill file cannot be created
+   */
+  public SpillingList(ElementCodec<T> codec, int pageSize, int maxResidentPages,
+      int prefetchPages) {
+    if (pageSize <= 0 || maxResidentPages <= 0 || prefetchPages <= 0) {
+      throw new IllegalArgumentException("Page size, resident pages and prefetch must be positive");
+    }
+    if (prefetchPages > maxResidentPages) {
+      throw new IllegalArgumentException("prefetchPages(" + prefetchPages
+          + ") > maxResidentPages(" + maxResidentPages + ")");
+    }
+    this.codec = Objects.requireNonNull(codec);
+    this.pageSize = pageSize;
+    this.maxResidentPages = maxResidentPages;
+    this.prefetchPages = prefetchPages;
+    Path file;
+    try {
+      file = Files.createTempFile("spilling-list", ".bin");
+      channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+          StandardOpenOption.DELETE_ON_CLOSE);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    cleanable = CLEANER.register(this, new SpillFile(file, channel));
+  }
+
+  /**
+   * Returns the number of elements in this list.
+   *
+   * @return the number of elements in this list
+   */
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the element at the specified position, faulting its page in if it was spilled.
+   *
+   * @param index the index of the element to be returned
+   * @return the element at the specified position
+   * @throws IndexOutOfBoundsException if the index is out of range
+   * @throws UncheckedIOException      if the page cannot be read
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public T get(int index) {
+    Objects.checkIndex(index, size);
+
+    return (T) page(index / pageSize).values[index % pageSize];
+  }
+
+  /**
+   * Replaces the element at the specified position, marking its page dirty.
+   *
+   * @param index   the index of the element to replace
+   * @param element the element to be stored at the specified position
+   * @return the element previously at the specified position
+   * @throws IndexOutOfBoundsException if the index is out of range
+   * @throws UncheckedIOException      if the page cannot be read or another page cannot be spilled
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public T set(int index, T element) {
+    Objects.checkIndex(index, size);
+
+    Page page = page(index / pageSize);
+    T oldValue = (T) page.values[index % pageSize];
+    page.values[index % pageSize] = element;
+    page.dirty = true;
+    return oldValue;
+  }
+
+  /**
+   * Appends the specified element to the end of this list.
+   *
+   * @param element the element to be appended
+   * @return true (as specified by {@link java.util.Collection#add})
+   * @throws UncheckedIOException if a page cannot be spilled
+   */
+  @Override
+  public boolean add(T element) {
+    int pageIndex = size / pageSize;
+    Page page;
+    if (pageIndex == pageCount) {
+      if (pageCount == pageOffsets.length) {
+        int newCapacity = (pageOffsets.length * 3) / 2 + 1;
+        pageOffsets = Arrays.copyOf(pageOffsets, newCapacity);
+        pageLengths = Arrays.copyOf(pageLengths, newCapacity);
+        slotCapacities = Arrays.copyOf(slotCapacities, newCapacity);
+      }
+      pageCount++;
+      page = new Page(pageSize);
+      resident.put(pageIndex, page);
+      evictOverBudget();
+    } else {
+      page = page(pageIndex);
+    }
+    page.values[size % pageSize] = element;
+    page.dirty = true;
+    size++;
+    modCount++;
+    return true;
+  }
+
+  /**
+   * Returns an iterator that loads spilled pages ahead of the current position in batches of
+   * adjacent slots.
+   *
+   * @return an iterator over the elements in this list
+   */
+  @Override
+  public Iterator<T> iterator() {
+    return new Iterator<>() {
+      private final int expectedModCount = modCount;
+      private int index;
+
+      @Override
+      public boolean hasNext() {
+        return index < size;
+      }
+
+      @Override
+      public T next() {
+        if (modCount != expectedModCount) {
+          throw new ConcurrentModificationException();
+        }
+        if (index >= size) {
+          throw new NoSuchElementException();
+        }
+        if (index % pageSize == 0) {
+          prefetch(index / pageSize);
+        }
+        return get(index++);
+      }
+    };
+  }
+
+  /**
+   * Returns the number of pages currently held in memory.
+   *
+   * @return the number of resident pages
+   */
+  public int residentPages() {
+    return resident.size();
+  }
+
+  /**
+   * Returns the number of page reads from the spill file so far.
+   *
+   * @return the number of page faults
+   */
+  public long pageFaults() {
+    return pageFaults;
+  }
+
+  /**
+   * Returns the number of reads from the spill file so far. A read may load several pages, so
+   * this is at most {@link #pageFaults()}.
+   *
+   * @return the number of spill file reads
+   */
+  public long spillReads() {
+    return spillReads;
+  }
+
+  /**
+   * Returns the number of page writes to the spill file so far.
+   *
+   * @return the number of pages spilled
+   */
+  public long pageWrites() {
+    return pageWrites;
+  }
+
+  /**
+   * Returns the number of bytes of the spill file occupied by page slots, in use or free.
+   *
+   * @return the size of the spill file in bytes
+   */
+  public long spillFileBytes() {
+    return fileEnd;
+  }
+
+  /**
+   * Closes the spill file and deletes it. The list must not be used afterwards.
+   *
+   * @throws UncheckedIOException if the file cannot be closed
+   */
+  @Override
+  public void close() {
+    resident.clear();
+    cleanable.clean();
+  }
+
+  private Page page(int pageIndex) {
+    Page page = resident.get(pageIndex);
+    if (page == null) {
+      load(pageIndex, pageIndex + 1);
+      page = resident.get(pageIndex);
+      evictOverBudget();
+    }
+    return page;
+  }
+
+  /**
+   * Loads the page if it was spilled, together with the spilled pages after it whose slots
+   * directly follow its own, so they all come in with one read.
+   */
+  private void prefetch(int firstPage) {
+    if (resident.containsKey(firstPage)) {
+      return;
+    }
+    int lastPage = Math.min(pageCount, firstPage + prefetchPages);
+    int endPage = firstPage + 1;
+    while (endPage < lastPage && !resident.containsKey(endPage)
+        && pageOffsets[endPage] == pageOffsets[endPage - 1] + slotCapacities[endPage - 1]) {
+      endPage++;
+    }
+    load(firstPage, endPage);
+    evictOverBudget();
+  }
+
+  private void evictOverBudget() {
+    Iterator<Map.Entry<Integer, Page>> it = resident.entrySet().iterator();
+    while (resident.size() > maxResidentPages) {
+      Map.Entry<Integer, Page> eldest = it.next();
+      if (eldest.getValue().dirty) {
+        write(eldest.getKey(), eldest.getValue());
+      }
+      it.remove();
+    }
+  }
+
+  private void write(int pageIndex, Page page) {
+    try {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      DataOutputStream out = new DataOutputStream(bytes);
+      for (Object value : page.values) {
+        @SuppressWarnings("unchecked")
+        T element = (T) value;
+        if (element == null) {
+          out.writeBoolean(false);
+        } else {
+          out.writeBoolean(true);
+          codec.encode(element, out);
+        }
+      }
+      out.flush();
+      int length = bytes.size();
+      if (length > slotCapacities[pageIndex]) {
+        moveToNewSlot(pageIndex, length);
+      }
+      ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+      long position = pageOffsets[pageIndex];
+      while (buffer.hasRemaining()) {
+        position += channel.write(buffer, position);
+      }
+      pageLengths[pageIndex] = length;
+      page.dirty = false;
+      pageWrites++;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void moveToNewSlot(int pageIndex, int length) {
+    if (slotCapacities[pageIndex] > 0) {
+      if (freeCount == freeOffsets.length) {
+        int newCapacity = (freeOffsets.length * 3) / 2 + 1;
+        freeOffsets = Arrays.copyOf(freeOffsets, newCapacity);
+        freeCapacities = Arrays.copyOf(freeCapacities, newCapacity);
+      }
+      freeOffsets[freeCount] = pageOffsets[pageIndex];
+      freeCapacities[freeCount++] = slotCapacities[pageIndex];
+    }
+    for (int i = 0; i < freeCount; i++) {
+      if (freeCapacities[i] >= length) {
+        pageOffsets[pageIndex] = freeOffsets[i];
+        slotCapacities[pageIndex] = freeCapacities[i];
+        freeCount--;
+        freeOffsets[i] = freeOffsets[freeCount];
+        freeCapacities[i] = freeCapacities[freeCount];
+        return;
+      }
+    }
+    int capacity = length + (length >>> 3);
+    pageOffsets[pageIndex] = fileEnd;
+    slotCapacities[pageIndex] = capacity;
+    fileEnd += capacity;
+  }
+
+  /**
+   * Reads the spilled pages {@code firstPage} to {@code endPage - 1}, whose slots must lie one
+   * after another in the file, with one positional read and makes them resident.
+   */
+  private void load(int firstPage, int endPage) {
+    long start = pageOffsets[firstPage];
+    int lastPage = endPage - 1;
+    try {
+      ByteBuffer buffer = ByteBuffer.allocate(
+          Math.toIntExact(pageOffsets[lastPage] + pageLengths[lastPage] - start));
+      while (buffer.hasRemaining()) {
+        int read = channel.read(buffer, start + buffer.position());
+        if (read < 0) {
+          throw new IOException("Unexpected end of spill file");
+        }
+      }
+      spillReads++;
+      for (int pageIndex = firstPage; pageIndex < endPage; pageIndex++) {
+        Page page = new Page(pageSize);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.array(),
+            (int) (pageOffsets[pageIndex] - start), pageLengths[pageIndex]));
+        for (int i = 0; i < pageSize; i++) {
+          page.values[i] = in.readBoolean() ? codec.decode(in) : null;
+        }
+        resident.put(pageIndex, page);
+        pageFaults++;
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Closes and deletes the spill file. Registered with the cleaner, so it must not refer to the
+   * list itself.
+   */
+  private static final class SpillFile implements Runnable {
+
+    private final Path file;
+    private final FileChannel channel;
+
+    SpillFile(Path file, FileChannel channel) {
+      this.file = file;
+      this.channel = channel;
+    }
+
+    @Override
+    public void run() {
+      try {
+        channel.close();
+        Files.deleteIfExists(file);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  /**
+   * A resident page of elements. A page is dirty when it differs from its copy in the file.
+   */
+  private static final class Page {
+
+    private final Object[] values;
+    private boolean dirty;
+
+    Page(int pageSize) {
+      this.values = new Object[pageSize];
+    }
+  }
+}
@@ -0,0 +1,367 @@
+package by.russianzak.customarraylist.CustomArrayList;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Objects;
+
+/**
+ * Utf8StringList stores strings back to back as UTF-8 in a single growable byte array, with an
+ * {@code int} offset table marking where each string starts. Compared with a list of
+ * {@link String} objects it avoids a header, a byte array and a reference per element. Equality
+ * and prefix searches compare raw bytes without decoding, and sorting orders strings by unsigned
+ * byte comparison, which for UTF-8 is the same as code point order.
+ */
+public class Utf8StringList {
+
+  private static final int INITIAL_CAPACITY = 10;
+  private static final int INITIAL_BYTE_CAPACITY = 16 * INITIAL_CAPACITY;
+
+  private byte[] bytes;
+  private int byteSize;
+  private int[] offsets;
+  private int size;
+  private int modificationCount;
+
+  /**
+   * Constructs an empty list with an initial capacity of ten strings.
+   */
+  public Utf8StringList() {
+    this(INITIAL_CAPACITY, INITIAL_BYTE_CAPACITY);
+  }
+
+  /**
+   * Constructs an empty list with the specified initial capacities.
+   *
+   * @param capacity     the initial number of strings
+   * @param byteCapacity the initial number of UTF-8 bytes
+   * @throws IllegalArgumentException if either capacity is negative
+   */
+  public Utf8StringList(int capacity, int byteCapacity) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Illegal capacity: " + capacity);
+    }
+    if (byteCapacity < 0) {
+      throw new IllegalArgumentException("Illegal byte capacity: " + byteCapacity);
+    }
+    offsets = new int[capacity + 1];
+    bytes = new byte[byteCapacity];
+  }
+
+  /**
+   * Reads a UTF-8 text file into a new list, one string per line. Line terminators are
+   * {@code \n} or {@code \r\n}; the bytes of each line are copied without being decoded.
+   *
+   * @param path the file to read
+   * @return a new list holding the lines of the file
+   * @throws IOException if the file cannot be read
+   */
+  public static Utf8StringList readLines(Path path) throws IOException {
+    byte[] content = Files.readAllBytes(path);
+    Utf8StringList list = new Utf8StringList(INITIAL_CAPACITY, content.length);
+    int start = 0;
+    for (int i = 0; i <= content.length; i++) {
+      if (i == content.length || content[i] == '\n') {
+        if (i == content.length && start == i) {
+          break;
+        }
+        int end = i > start && content[i - 1] == '\r' ? i - 1 : i;
+        list.addBytes(content, start, end - start);
+        start = i + 1;
+      }
+    }
+    return list;
+  }
+
+  /**
+   * Returns the number of strings in this list.
+   *
+   * @return the number of strings in this list
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Checks if this list is empty.
+   *
+   * @return {@code true} if this list contains no strings, {@code false} otherwise
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the number of UTF-8 bytes used by the strings in this list.
+   *
+   * @return the total encoded length of the strings
+   */
+  public int byteSize() {
+    return byteSize;
+  }
+
+  /**
+   * Appends the specified string to the end of this list.
+   *
+   * @param value the string to be appended
+   * @throws NullPointerException if the specified string is null
+   */
+  public void add(String value) {
+    byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+    addBytes(encoded, 0, encoded.length);
+  }
+
+  /**
+   * Decodes and returns the string at the specified position.
+   *
+   * @param index the index of the string to be returned
+   * @return the string at the specified position
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public String get(int index) {
+    Objects.checkIndex(index, size);
+
+    return new String(bytes, offsets[index], offsets[index + 1] - offsets[index],
+        StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Returns a {@link CharSequence} over the string at the specified position. ASCII strings are
+   * read straight from the byte buffer without decoding; other strings are decoded once when the
+   * view is created. The view is only valid until this list is next modified.
+   *
+   * @param index the index of the string
+   * @return a character sequence view of the string
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public CharSequence getView(int index) {
+    Objects.checkIndex(index, size);
+
+    return new Utf8View(offsets[index], offsets[index + 1]);
+  }
+
+  /**
+   * Returns the length in UTF-8 bytes of the string at the specified position.
+   *
+   * @param index the index of the string
+   * @return the encoded length of the string
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public int byteLength(int index) {
+    Objects.checkIndex(index, size);
+
+    return offsets[index + 1] - offsets[index];
+  }
+
+  /**
+   * Checks if the string at the specified position equals the specified string, comparing the
+   * encoded bytes.
+   *
+   * @param index the index of the string
+   * @param value the string to compare with
+   * @return {@code true} if the strings are equal
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public boolean equalsAt(int index, String value) {
+    Objects.checkIndex(index, size);
+
+    byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+    return matches(index, encoded, true);
+  }
+
+  /**
+   * Checks if the string at the specified position starts with the specified prefix, comparing
+   * the encoded bytes.
+   *
+   * @param index  the index of the string
+   * @param prefix the prefix to look for
+   * @return {@code true} if the string starts with the prefix
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public boolean startsWith(int index, String prefix) {
+    Objects.checkIndex(index, size);
+
+    byte[] encoded = prefix.getBytes(StandardCharsets.UTF_8);
+    return matches(index, encoded, false);
+  }
+
+  /**
+   * Returns the index of the first string equal to the specified one, or -1 if there is none.
+   * The argument is encoded once and compared with the raw bytes of each string.
+   *
+   * @param value the string to search for
+   * @return the index of the first equal string, or -1 if it is absent
+   */
+  public int indexOf(String value) {
+    byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+    for (int i = 0; i < size; i++) {
+      if (matches(i, encoded, true)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Checks if this list contains the specified string.
+   *
+   * @param value the string to search for
+   * @return {@code true} if this list contains the string
+   */
+  public boolean contains(String value) {
+    return indexOf(value) != -1;
+  }
+
+  /**
+   * Returns the indices of all strings that start with the specified prefix.
+   *
+   * @param prefix the prefix to look for
+   * @return the matching indices in ascending order
+   */
+  public int[] indicesWithPrefix(String prefix) {
+    byte[] encoded = prefix.getBytes(StandardCharsets.UTF_8);
+    int[] matches = new int[size];
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      if (matches(i, encoded, false)) {
+        matches[count++] = i;
+      }
+    }
+    return Arrays.copyOf(matches, count);
+  }
+
+  /**
+   * Sorts the strings by unsigned comparison of their UTF-8 bytes, which orders them by code
+   * point. The sort is stable and rewrites the byte buffer once.
+   */
+  public void sort() {
+    int[] order = IndexSort.sortedOrder(size, (a, b) -> Arrays.compareUnsigned(
+        bytes, offsets[a], offsets[a + 1], bytes, offsets[b], offsets[b + 1]));
+
+    byte[] sortedBytes = new byte[bytes.length];
+    int[] sortedOffsets = new int[offsets.length];
+    int position = 0;
+    for (int i = 0; i < size; i++) {
+      int from = offsets[order[i]];
+      int length = offsets[order[i] + 1] - from;
+      System.arraycopy(bytes, from, sortedBytes, position, length);
+      sortedOffsets[i] = position;
+      position += length;
+    }
+    sortedOffsets[size] = position;
+    bytes = sortedBytes;
+    offsets = sortedOffsets;
+    modificationCount++;
+  }
+
+  /**
+   * Removes all the strings from this list.
+   */
+  public void clear() {
+    size = 0;
+    byteSize = 0;
+    modificationCount++;
+  }
+
+  /**
+   * Returns a string representation of this list.
+   *
+   * @return a string representation of this list
+   */
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("[");
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append(get(i));
+    }
+    sb.append("]");
+    return sb.toString();
+  }
+
+  private void addBytes(byte[] source, int from, int length) {
+    if (size + 1 == offsets.length) {
+      offsets = Arrays.copyOf(offsets, Math.max(size + 2, (offsets.length * 3) / 2 + 1));
+    }
+    if (byteSize + length > bytes.length) {
+      bytes = Arrays.copyOf(bytes, Math.max(byteSize + length, (bytes.length * 3) / 2 + 1));
+    }
+    System.arraycopy(source, from, bytes, byteSize, length);
+    byteSize += length;
+    offsets[++size] = byteSize;
+    modificationCount++;
+  }
+
+  private boolean matches(int index, byte[] encoded, boolean exact) {
+    int from = offsets[index];
+    int length = offsets[index + 1] - from;
+    if (exact ? length != encoded.length : length < encoded.length) {
+      return false;
+    }
+    return Arrays.equals(bytes, from, from + encoded.length, encoded, 0, encoded.length);
+  }
+
+  /**
+   * A character sequence over one encoded string of the enclosing list.
+   */
+  private final class Utf8View implements CharSequence {
+
+    private final int from;
+    private final int to;
+    private final int expectedModCount;
+    private String decoded;
+
+    Utf8View(int from, int to) {
+      this.from = from;
+      this.to = to;
+      this.expectedModCount = modificationCount;
+      for (int i = from; i < to; i++) {
+        if (bytes[i] < 0) {
+          decoded = new String(bytes, from, to - from, StandardCharsets.UTF_8);
+          break;
+        }
+      }
+    }
+
+    @Override
+    public int length() {
+      return decoded != null ? decoded.length() : to - from;
+    }
+
+    @Override
+    public char charAt(int index) {
+      if (decoded != null) {
+        return decoded.charAt(index);
+      }
+      Objects.checkIndex(index, to - from);
+      checkForModification();
+      return (char) bytes[from + index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      return toString().subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+      if (decoded != null) {
+        return decoded;
+      }
+      checkForModification();
+      return new String(bytes, from, to - from, StandardCharsets.ISO_8859_1);
+    }
+
+    private void checkForModification() {
+      if (modificationCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+    }
+  }
+}
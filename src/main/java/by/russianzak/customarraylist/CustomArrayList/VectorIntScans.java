@@ -0,0 +1,82 @@
+package by.russianzak.customarraylist.CustomArrayList;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API implementations of the {@link IntScans} kernels. This class is only loaded after
+ * {@link IntScans} has confirmed that the {@code jdk.incubator.vector} module is resolved, so the
+ * rest of the library keeps working on runtimes started without it.
+ */
+final class VectorIntScans {
+
+  private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+  private static final VectorSpecies<Long> LONG_SPECIES =
+      LongVector.SPECIES_PREFERRED.withShape(SPECIES.vectorShape());
+
+  private VectorIntScans() {
+  }
+
+  static int laneCount() {
+    return SPECIES.length();
+  }
+
+  static int indexOf(int[] a, int length, int value) {
+    int bound = SPECIES.loopBound(length);
+    int i = 0;
+    for (; i < bound; i += SPECIES.length()) {
+      VectorMask<Integer> mask = IntVector.fromArray(SPECIES, a, i).eq(value);
+      if (mask.anyTrue()) {
+        return i + mask.firstTrue();
+      }
+    }
+    return IntScans.scalarIndexOf(a, i, length, value);
+  }
+
+  static int min(int[] a, int length) {
+    int bound = SPECIES.loopBound(length);
+    IntVector accumulator = IntVector.broadcast(SPECIES, Integer.MAX_VALUE);
+    int i = 0;
+    for (; i < bound; i += SPECIES.length()) {
+      accumulator = accumulator.min(IntVector.fromArray(SPECIES, a, i));
+    }
+    return IntScans.scalarMin(a, i, length, accumulator.reduceLanes(VectorOperators.MIN));
+  }
+
+  static int max(int[] a, int length) {
+    int bound = SPECIES.loopBound(length);
+    IntVector accumulator = IntVector.broadcast(SPECIES, Integer.MIN_VALUE);
+    int i = 0;
+    for (; i < bound; i += SPECIES.length()) {
+      accumulator = accumulator.max(IntVector.fromArray(SPECIES, a, i));
+    }
+    return IntScans.scalarMax(a, i, length, accumulator.reduceLanes(VectorOperators.MAX));
+  }
+
+  static long sum(int[] a, int length) {
+    int bound = SPECIES.loopBound(length);
+    LongVector accumulator = LongVector.zero(LONG_SPECIES);
+    int i = 0;
+    for (; i < bound; i += SPECIES.length()) {
+      IntVector v = IntVector.fromArray(SPECIES, a, i);
+      accumulator = accumulator
+          .add(v.convertShape(VectorOperators.I2L, LONG_SPECIES, 0))
+          .add(v.convertShape(VectorOperators.I2L, LONG_SPECIES, 1));
+    }
+    return accumulator.reduceLanes(VectorOperators.ADD) + IntScans.scalarSum(a, i, length);
+  }
+
+  static int countGreaterThan(int[] a, int length, int threshold) {
+    int bound = SPECIES.loopBound(length);
+    int count = 0;
+    int i = 0;
+    for (; i < bound; i += SPECIES.length()) {
+      count += IntVector.fromArray(SPECIES, a, i).compare(VectorOperators.GT, threshold)
+          .trueCount();
+    }
+    return count + IntScans.scalarCountGreaterThan(a, i, length, threshold);
+  }
+}
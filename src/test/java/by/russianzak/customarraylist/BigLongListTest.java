@@ -0,0 +1,127 @@
+package by.russianzak.customarraylist;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import by.russianzak.customarraylist.CustomArrayList.BigLongList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.Test;
+
+public class BigLongListTest {
+
+  private static final int CHUNK_BITS = 4;
+  private static final int LIST_SIZE = 1000;
+
+  @Test
+  public void testAddGetSetAcrossChunks() {
+    BigLongList list = generateList();
+    assertEquals(LIST_SIZE, list.size64());
+    for (long i = 0; i < LIST_SIZE; i++) {
+      assertEquals(i * 7, list.get(i));
+    }
+    assertEquals(16 * 7, list.set(16, -1));
+    assertEquals(-1, list.get(16));
+    assertThrows(IndexOutOfBoundsException.class, () -> list.get(LIST_SIZE));
+  }
+
+  @Test
+  public void testFill() {
+    BigLongList list = generateList();
+    list.fill(10, 100, 42);
+    assertEquals(9 * 7, list.get(9));
+    assertEquals(42, list.get(10));
+    assertEquals(42, list.get(99));
+    assertEquals(100 * 7, list.get(100));
+  }
+
+  @Test
+  public void testCopyToOtherList() {
+    BigLongList list = generateList();
+    BigLongList copy = new BigLongList(5);
+    copy.setSize64(500);
+    list.copyTo(3, copy, 7, 400);
+    assertEquals(0, copy.get(6));
+    assertEquals(3 * 7, copy.get(7));
+    assertEquals(402 * 7, copy.get(406));
+    assertEquals(0, copy.get(407));
+  }
+
+  @Test
+  public void testOverlappingCopyWithinList() {
+    BigLongList list = generateList();
+    long[] expected = toArray(list);
+    System.arraycopy(expected, 5, expected, 20, 300);
+    list.copyTo(5, list, 20, 300);
+    assertArrayEquals(expected, toArray(list));
+
+    expected = toArray(list);
+    System.arraycopy(expected, 40, expected, 3, 500);
+    list.copyTo(40, list, 3, 500);
+    assertArrayEquals(expected, toArray(list));
+  }
+
+  @Test
+  public void testSetSize64ShrinkThenGrowZeroFills() {
+    BigLongList list = generateList();
+    list.setSize64(21);
+    list.setSize64(40);
+    assertEquals(20 * 7, list.get(20));
+    assertEquals(0, list.get(21));
+    assertEquals(0, list.get(39));
+  }
+
+  @Test
+  public void testParallelForEach() {
+    BigLongList list = generateList();
+    LongAdder sum = new LongAdder();
+    list.parallelForEach(sum::add);
+    assertEquals(7L * (LIST_SIZE - 1) * LIST_SIZE / 2, sum.sum());
+  }
+
+  @Test
+  public void testSort() {
+    Random random = new Random(12);
+    BigLongList list = new BigLongList(CHUNK_BITS);
+    long[] expected = new long[LIST_SIZE + 3];
+    for (int i = 0; i < expected.length; i++) {
+      expected[i] = random.nextLong();
+      list.add(expected[i]);
+    }
+    Arrays.sort(expected);
+    list.sort();
+    assertArrayEquals(expected, toArray(list));
+  }
+
+  @Test
+  public void testSortSplitsLargeMerges() {
+    Random random = new Random(13);
+    BigLongList list = new BigLongList(14);
+    long[] expected = new long[(1 << 17) + 5];
+    for (int i = 0; i < expected.length; i++) {
+      expected[i] = random.nextInt(1000);
+      list.add(expected[i]);
+    }
+    Arrays.sort(expected);
+    list.sort();
+    assertArrayEquals(expected, toArray(list));
+  }
+
+  private BigLongList generateList() {
+    BigLongList list = new BigLongList(CHUNK_BITS);
+    for (int i = 0; i < LIST_SIZE; i++) {
+      list.add(i * 7L);
+    }
+    return list;
+  }
+
+  private long[] toArray(BigLongList list) {
+    long[] result = new long[(int) list.size64()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = list.get(i);
+    }
+    return result;
+  }
+}
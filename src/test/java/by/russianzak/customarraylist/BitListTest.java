@@ -0,0 +1,120 @@
+package by.russianzak.customarraylist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import by.russianzak.customarraylist.CustomArrayList.BitList;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+public class BitListTest {
+
+  private static final int LIST_SIZE = 1000;
+
+  @Test
+  public void testAddGetSet() {
+    BitList list = new BitList();
+    for (int i = 0; i < LIST_SIZE; i++) {
+      list.add(i % 3 == 0);
+    }
+    assertEquals(LIST_SIZE, list.size());
+    assertTrue(list.getBit(999));
+    assertFalse(list.getBit(998));
+    assertFalse(list.setBit(998, true));
+    assertTrue(list.getBit(998));
+    assertEquals(LIST_SIZE / 3 + 2, list.cardinality());
+    assertThrows(IndexOutOfBoundsException.class, () -> list.getBit(LIST_SIZE));
+  }
+
+  @Test
+  public void testInsertAndRemoveMatchReferenceList() {
+    Random random = new Random(9);
+    BitList list = new BitList();
+    List<Boolean> expected = new ArrayList<>();
+    for (int i = 0; i < 3000; i++) {
+      int operation = random.nextInt(3);
+      if (operation < 2 || expected.isEmpty()) {
+        int index = random.nextInt(expected.size() + 1);
+        boolean value = random.nextBoolean();
+        list.add(index, value);
+        expected.add(index, value);
+      } else {
+        int index = random.nextInt(expected.size());
+        assertEquals(expected.remove(index), list.remove(index));
+      }
+    }
+    assertEquals(expected.size(), list.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i), list.getBit(i));
+    }
+    assertEquals(expected.stream().filter(b -> b).count(), list.cardinality());
+  }
+
+  @Test
+  public void testNextSetBit() {
+    BitList list = new BitList();
+    for (int i = 0; i < LIST_SIZE; i++) {
+      list.add(i == 5 || i == 200 || i == 999);
+    }
+    assertEquals(5, list.nextSetBit(0));
+    assertEquals(200, list.nextSetBit(6));
+    assertEquals(999, list.nextSetBit(201));
+    assertEquals(-1, list.nextSetBit(1000));
+  }
+
+  @Test
+  public void testBulkOperations() {
+    Random random = new Random(4);
+    BitList a = new BitList();
+    BitList b = new BitList();
+    BitSet left = new BitSet();
+    BitSet right = new BitSet();
+    for (int i = 0; i < LIST_SIZE; i++) {
+      boolean x = random.nextBoolean();
+      boolean y = random.nextBoolean();
+      a.add(x);
+      b.add(y);
+      left.set(i, x);
+      right.set(i, y);
+    }
+
+    a.and(b);
+    left.and(right);
+    assertEquals(left.cardinality(), a.cardinality());
+
+    a.or(b);
+    left.or(right);
+    assertEquals(left.cardinality(), a.cardinality());
+
+    a.xor(b);
+    left.xor(right);
+    assertEquals(left.cardinality(), a.cardinality());
+
+    a.andNot(b);
+    left.andNot(right);
+    assertEquals(left.cardinality(), a.cardinality());
+    for (int i = 0; i < LIST_SIZE; i++) {
+      assertEquals(left.get(i), a.getBit(i));
+    }
+  }
+
+  @Test
+  public void testOrWithLongerListKeepsSize() {
+    BitList shorter = new BitList();
+    BitList longer = new BitList();
+    for (int i = 0; i < 70; i++) {
+      longer.add(true);
+    }
+    for (int i = 0; i < 65; i++) {
+      shorter.add(false);
+    }
+    shorter.or(longer);
+    assertEquals(65, shorter.size());
+    assertEquals(65, shorter.cardinality());
+  }
+}
@@ -0,0 +1,123 @@
+package by.russianzak.customarraylist;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import by.russianzak.customarraylist.CustomArrayList.ColumnarList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ColumnarListTest {
+
+  private static final int LIST_SIZE = 1000;
+
+  record Trade(long timestamp, int quantity, double price, String symbol) {
+  }
+
+  private ColumnarList<Trade> list;
+  private List<Trade> trades;
+
+  @Before
+  public void setUp() {
+    Random random = new Random(5);
+    list = new ColumnarList<>(Trade.class);
+    trades = new ArrayList<>();
+    for (int i = 0; i < LIST_SIZE; i++) {
+      Trade trade = new Trade(random.nextLong(), random.nextInt(100) - 50,
+          random.nextDouble() * 100 - 50, "S" + random.nextInt(20));
+      trades.add(trade);
+      list.add(trade);
+    }
+  }
+
+  @Test
+  public void testAddAndGet() {
+    assertEquals(LIST_SIZE, list.size());
+    for (int i = 0; i < LIST_SIZE; i++) {
+      assertEquals(trades.get(i), list.get(i));
+    }
+    assertThrows(IndexOutOfBoundsException.class, () -> list.get(LIST_SIZE));
+  }
+
+  @Test
+  public void testRowFlyweight() {
+    int quantity = list.columnIndex("quantity");
+    int symbol = list.columnIndex("symbol");
+    ColumnarList<Trade>.Row row = list.cursor();
+    assertEquals(trades.get(7).quantity(), row.moveTo(7).getInt(quantity));
+    assertEquals(trades.get(7).symbol(), row.getObject(symbol));
+    assertEquals(trades.get(7), row.toRecord());
+
+    long[] sum = {0};
+    list.forEachRow(r -> sum[0] += r.getInt(quantity));
+    assertEquals(trades.stream().mapToLong(Trade::quantity).sum(), sum[0]);
+  }
+
+  @Test
+  public void testColumnScans() {
+    List<Integer> matches = new ArrayList<>();
+    for (int i = 0; i < LIST_SIZE; i++) {
+      if (trades.get(i).quantity() > 10) {
+        matches.add(i);
+      }
+    }
+    int[] expected = matches.stream().mapToInt(Integer::intValue).toArray();
+    assertArrayEquals(expected, list.filterInt("quantity", q -> q > 10));
+
+    IntSummaryStatistics statistics = list.intStatistics("quantity");
+    assertEquals(trades.stream().mapToInt(Trade::quantity).sum(), statistics.getSum());
+    assertEquals(trades.stream().mapToInt(Trade::quantity).min().getAsInt(),
+        statistics.getMin());
+    assertEquals(trades.stream().mapToDouble(Trade::price).max().getAsDouble(),
+        list.doubleStatistics("price").getMax(), 0.0);
+    assertEquals(trades.stream().filter(t -> t.timestamp() < 0).count(),
+        list.filterLong("timestamp", t -> t < 0).length);
+  }
+
+  @Test
+  public void testSortByColumn() {
+    list.sortByColumn("price");
+    trades.sort(Comparator.comparingDouble(Trade::price));
+    for (int i = 0; i < LIST_SIZE; i++) {
+      assertEquals(trades.get(i), list.get(i));
+    }
+
+    list.sortByColumn("timestamp");
+    trades.sort(Comparator.comparingLong(Trade::timestamp));
+    for (int i = 0; i < LIST_SIZE; i++) {
+      assertEquals(trades.get(i), list.get(i));
+    }
+
+    list.sortByColumn("symbol");
+    trades.sort(Comparator.comparing(Trade::symbol));
+    for (int i = 0; i < LIST_SIZE; i++) {
+      assertEquals(trades.get(i), list.get(i));
+    }
+  }
+
+  @Test
+  public void testSortByColumnWithComparator() {
+    list.sortByColumn("symbol", Comparator.<String>reverseOrder());
+    trades.sort(Comparator.comparing(Trade::symbol).reversed());
+    for (int i = 0; i < LIST_SIZE; i++) {
+      assertEquals(trades.get(i), list.get(i));
+    }
+
+    list.sortByColumn("quantity", Comparator.<Integer>comparingInt(q -> Math.abs(q)));
+    trades.sort(Comparator.comparingInt(t -> Math.abs(t.quantity())));
+    for (int i = 0; i < LIST_SIZE; i++) {
+      assertEquals(trades.get(i), list.get(i));
+    }
+  }
+
+  @Test
+  public void testUnknownColumn() {
+    assertThrows(IllegalArgumentException.class, () -> list.columnIndex("missing"));
+  }
+}
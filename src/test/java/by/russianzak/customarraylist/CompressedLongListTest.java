@@ -0,0 +1,124 @@
+package by.russianzak.customarraylist;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import by.russianzak.customarraylist.CustomArrayList.CompressedLongList;
+import java.util.ConcurrentModificationException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import org.junit.Test;
+
+public class CompressedLongListTest {
+
+  private static final int LIST_SIZE = 10007;
+
+  @Test
+  public void testSortedIdsCompressWell() {
+    CompressedLongList list = new CompressedLongList();
+    long[] expected = new long[LIST_SIZE];
+    long id = 1_700_000_000_000L;
+    Random random = new Random(1);
+    for (int i = 0; i < LIST_SIZE; i++) {
+      id += random.nextInt(16);
+      expected[i] = id;
+      list.add(id);
+    }
+    assertEquals(LIST_SIZE, list.size());
+    assertArrayEquals(expected, list.toArray());
+    for (int i = 0; i < LIST_SIZE; i += 97) {
+      assertEquals(expected[i], list.get(i));
+    }
+    assertTrue(list.compressedSizeInBytes() < (long) LIST_SIZE * Long.BYTES / 8);
+  }
+
+  @Test
+  public void testRandomValuesRoundTrip() {
+    CompressedLongList list = new CompressedLongList();
+    long[] expected = new long[LIST_SIZE];
+    Random random = new Random(2);
+    for (int i = 0; i < LIST_SIZE; i++) {
+      expected[i] = i % 3 == 0 ? random.nextLong() : random.nextInt(1000) - 500;
+      list.add(expected[i]);
+    }
+    list.add(Long.MIN_VALUE);
+    list.add(Long.MAX_VALUE);
+    assertEquals(Long.MIN_VALUE, list.get(LIST_SIZE));
+    assertEquals(Long.MAX_VALUE, list.get(LIST_SIZE + 1));
+    for (int i = 0; i < LIST_SIZE; i++) {
+      assertEquals(expected[i], list.get(i));
+    }
+  }
+
+  @Test
+  public void testSetRewritesBlock() {
+    CompressedLongList list = new CompressedLongList();
+    for (int i = 0; i < 1000; i++) {
+      list.add(i);
+    }
+    assertEquals(300, list.set(300, -123456789L));
+    assertEquals(999, list.set(999, 5));
+    assertEquals(-123456789L, list.get(300));
+    assertEquals(299, list.get(299));
+    assertEquals(301, list.get(301));
+    assertEquals(5, list.get(999));
+  }
+
+  @Test
+  public void testIteration() {
+    CompressedLongList list = new CompressedLongList();
+    for (int i = 0; i < 1000; i++) {
+      list.add(i * 3L);
+    }
+    long[] sum = {0};
+    list.forEach(v -> sum[0] += v);
+    assertEquals(3L * 999 * 1000 / 2, sum[0]);
+
+    PrimitiveIterator.OfLong iterator = list.iterator();
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(i * 3L, iterator.nextLong());
+    }
+    PrimitiveIterator.OfLong stale = list.iterator();
+    list.add(1);
+    assertThrows(ConcurrentModificationException.class, stale::nextLong);
+  }
+
+  @Test
+  public void testDeltaBlockRandomAccess() {
+    CompressedLongList list = new CompressedLongList();
+    long[] expected = new long[LIST_SIZE];
+    Random random = new Random(3);
+    long value = Long.MAX_VALUE - 1_000_000;
+    for (int i = 0; i < LIST_SIZE; i++) {
+      value += random.nextInt(200) - 20;
+      expected[i] = value;
+      list.add(value);
+    }
+    for (int i = LIST_SIZE - 1; i >= 0; i--) {
+      assertEquals(expected[i], list.get(i));
+    }
+  }
+
+  @Test
+  public void testSetInvalidatesIterators() {
+    CompressedLongList list = new CompressedLongList();
+    for (int i = 0; i < 1000; i++) {
+      list.add(i);
+    }
+    PrimitiveIterator.OfLong sealed = list.iterator();
+    list.set(10, 42);
+    assertThrows(ConcurrentModificationException.class, sealed::nextLong);
+
+    PrimitiveIterator.OfLong tail = list.iterator();
+    list.set(999, 42);
+    assertThrows(ConcurrentModificationException.class, tail::nextLong);
+  }
+
+  @Test
+  public void testGetOutOfRange() {
+    CompressedLongList list = new CompressedLongList();
+    assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+  }
+}
@@ -0,0 +1,101 @@
+package by.russianzak.customarraylist.CustomArrayList;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+import org.junit.Test;
+
+public class IntScansTest {
+
+  private static final int MAX_LENGTH = 300;
+
+  @Test
+  public void testScalarKernelsMatchPlainLoops() {
+    Random random = new Random(42);
+    for (int length = 0; length <= MAX_LENGTH; length++) {
+      int[] a = randomArray(random, length);
+      int from = length == 0 ? 0 : random.nextInt(length);
+      int probe = length == 0 ? 0 : a[from + random.nextInt(length - from)];
+
+      assertEquals(expectedIndexOf(a, from, length, probe),
+          IntScans.scalarIndexOf(a, from, length, probe));
+      assertEquals(-1, IntScans.scalarIndexOf(a, from, length, Integer.MIN_VALUE));
+      assertEquals(expectedMin(a, from, length),
+          IntScans.scalarMin(a, from, length, Integer.MAX_VALUE));
+      assertEquals(expectedMax(a, from, length),
+          IntScans.scalarMax(a, from, length, Integer.MIN_VALUE));
+      assertEquals(expectedSum(a, from, length), IntScans.scalarSum(a, from, length));
+      assertEquals(expectedCountGreaterThan(a, from, length, probe),
+          IntScans.scalarCountGreaterThan(a, from, length, probe));
+    }
+  }
+
+  @Test
+  public void testDispatchAgreesWithScalarKernels() {
+    Random random = new Random(7);
+    for (int length = 0; length <= MAX_LENGTH; length++) {
+      int[] a = randomArray(random, length + 5);
+      int probe = length == 0 ? 0 : a[random.nextInt(length)];
+
+      assertEquals(IntScans.scalarIndexOf(a, 0, length, probe), IntScans.indexOf(a, length, probe));
+      assertEquals(IntScans.scalarSum(a, 0, length), IntScans.sum(a, length));
+      assertEquals(IntScans.scalarCountGreaterThan(a, 0, length, probe),
+          IntScans.countGreaterThan(a, length, probe));
+      if (length > 0) {
+        assertEquals(IntScans.scalarMin(a, 0, length, Integer.MAX_VALUE), IntScans.min(a, length));
+        assertEquals(IntScans.scalarMax(a, 0, length, Integer.MIN_VALUE), IntScans.max(a, length));
+      }
+    }
+  }
+
+  private static int[] randomArray(Random random, int length) {
+    int[] a = new int[length];
+    for (int i = 0; i < length; i++) {
+      a[i] = random.nextInt(1000) - 500;
+    }
+    return a;
+  }
+
+  private static int expectedIndexOf(int[] a, int from, int to, int value) {
+    for (int i = from; i < to; i++) {
+      if (a[i] == value) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static int expectedMin(int[] a, int from, int to) {
+    int min = Integer.MAX_VALUE;
+    for (int i = from; i < to; i++) {
+      min = Math.min(min, a[i]);
+    }
+    return min;
+  }
+
+  private static int expectedMax(int[] a, int from, int to) {
+    int max = Integer.MIN_VALUE;
+    for (int i = from; i < to; i++) {
+      max = Math.max(max, a[i]);
+    }
+    return max;
+  }
+
+  private static long expectedSum(int[] a, int from, int to) {
+    long sum = 0;
+    for (int i = from; i < to; i++) {
+      sum += a[i];
+    }
+    return sum;
+  }
+
+  private static int expectedCountGreaterThan(int[] a, int from, int to, int threshold) {
+    int count = 0;
+    for (int i = from; i < to; i++) {
+      if (a[i] > threshold) {
+        count++;
+      }
+    }
+    return count;
+  }
+}
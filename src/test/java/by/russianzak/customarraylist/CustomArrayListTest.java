@@ -7,10 +7,13 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 import by.russianzak.customarraylist.CustomArrayList.CustomArrayList;
+import by.russianzak.customarraylist.CustomArrayList.Interner;
+import by.russianzak.customarraylist.CustomArrayList.ListPatch;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
@@ -19,6 +22,13 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -824,6 +834,642 @@ public class CustomArrayListTest {
     }
   }
 
+  @Test
+  public void testFreeze() {
+    CustomArrayList<Integer> list = generateRandomList();
+    list.freeze();
+
+    assertTrue(list.isFrozen());
+    assertThrows(UnsupportedOperationException.class, () -> list.add(1));
+    assertThrows(UnsupportedOperationException.class, () -> list.set(0, 1));
+    assertThrows(UnsupportedOperationException.class, () -> list.remove(0));
+    assertThrows(UnsupportedOperationException.class, list::clear);
+    assertEquals(LIST_SIZE, list.size());
+  }
+
+  @Test
+  public void testParallelForEach() {
+    CustomArrayList<Integer> list = generateRandomList();
+    LongAdder sum = new LongAdder();
+    list.parallelForEach(sum::add, ForkJoinPool.commonPool(), 64);
+    assertEquals(list.stream().mapToLong(Integer::longValue).sum(), sum.sum());
+  }
+
+  @Test
+  public void testParallelReplaceAll() {
+    CustomArrayList<Integer> list = generateRandomList();
+    Object[] expected = list.stream().map(x -> x * 2).toArray();
+    list.parallelReplaceAll(x -> x * 2);
+    assertArrayEquals(expected, list.toArray());
+  }
+
+  @Test
+  public void testParallelSetAllWithCustomPool() {
+    CustomArrayList<Integer> list = generateRandomList();
+    ForkJoinPool pool = new ForkJoinPool(3);
+    try {
+      list.parallelSetAll(i -> i, pool, 100);
+    } finally {
+      pool.shutdown();
+    }
+    for (int i = 0; i < LIST_SIZE; i++) {
+      assertEquals(Integer.valueOf(i), list.get(i));
+    }
+  }
+
+  @Test
+  public void testParallelExceptionsAreCombined() {
+    CustomArrayList<Integer> list = generateRandomList();
+    IllegalStateException thrown = assertThrows(IllegalStateException.class,
+        () -> list.parallelForEach(x -> {
+          throw new IllegalStateException();
+        }, ForkJoinPool.commonPool(), 1000));
+    assertTrue(thrown.getSuppressed().length > 0);
+  }
+
+  @Test
+  public void testParallelForEachFailFast() {
+    CustomArrayList<Integer> list = generateRandomList();
+    assertThrows(ConcurrentModificationException.class,
+        () -> list.parallelForEach(x -> {
+          synchronized (list) {
+            if (list.size() == LIST_SIZE) {
+              list.add(0);
+            }
+          }
+        }, ForkJoinPool.commonPool(), LIST_SIZE));
+  }
+
+  @Test
+  public void testParallelInvalidGranularity() {
+    CustomArrayList<Integer> list = generateRandomList();
+    assertThrows(IllegalArgumentException.class,
+        () -> list.parallelForEach(x -> { }, ForkJoinPool.commonPool(), 0));
+  }
+
+  @Test
+  public void testSortByIntKey() {
+    CustomArrayList<Integer> list = generateRandomList();
+    list.add(Integer.MIN_VALUE);
+    list.add(Integer.MAX_VALUE);
+    list.add(-5);
+    Object[] expected = list.stream().sorted().toArray();
+    list.sortByIntKey(Integer::intValue);
+    assertArrayEquals(expected, list.toArray());
+  }
+
+  @Test
+  public void testSortByIntKeyIsStable() {
+    CustomArrayList<String> list = new CustomArrayList<>();
+    list.add("b1");
+    list.add("a1");
+    list.add("b2");
+    list.add("a2");
+    list.add("c1");
+    list.sortByIntKey(s -> s.charAt(0));
+    assertEquals(List.of("a1", "a2", "b1", "b2", "c1"), list);
+  }
+
+  @Test
+  public void testSortByLongKey() {
+    CustomArrayList<Long> list = new CustomArrayList<>();
+    Random random = new Random(7);
+    for (int i = 0; i < LIST_SIZE; i++) {
+      list.add(random.nextLong());
+    }
+    list.add(Long.MIN_VALUE);
+    list.add(Long.MAX_VALUE);
+    Object[] expected = list.stream().sorted().toArray();
+    list.sortByLongKey(Long::longValue);
+    assertArrayEquals(expected, list.toArray());
+  }
+
+  @Test
+  public void testParallelSortByKey() {
+    CustomArrayList<Long> list = new CustomArrayList<>();
+    Random random = new Random(11);
+    for (int i = 0; i < 200_000; i++) {
+      list.add(random.nextLong());
+    }
+    Object[] expected = list.stream().sorted().toArray();
+    list.parallelSortByLongKey(Long::longValue);
+    assertArrayEquals(expected, list.toArray());
+
+    list.parallelSortByIntKey(x -> (int) (x % 1000));
+    for (int i = 1; i < list.size(); i++) {
+      assertTrue((int) (list.get(i - 1) % 1000) <= (int) (list.get(i) % 1000));
+    }
+  }
+
+  @Test
+  public void testNthElement() {
+    CustomArrayList<Integer> list = generateRandomList();
+    Object[] sorted = list.stream().sorted().toArray();
+    for (int k : new int[]{0, 1, LIST_SIZE / 2, LIST_SIZE - 1}) {
+      list.nthElement(k, Comparator.naturalOrder());
+      assertEquals(sorted[k], list.get(k));
+      for (int i = 0; i < k; i++) {
+        assertTrue(list.get(i) <= list.get(k));
+      }
+      for (int i = k + 1; i < LIST_SIZE; i++) {
+        assertTrue(list.get(i) >= list.get(k));
+      }
+    }
+  }
+
+  @Test
+  public void testNthElementWithDuplicates() {
+    CustomArrayList<Integer> list = new CustomArrayList<>();
+    for (int i = 0; i < LIST_SIZE; i++) {
+      list.add(i % 3);
+    }
+    list.nthElement(LIST_SIZE / 2, Comparator.naturalOrder());
+    assertEquals(Integer.valueOf(1), list.get(LIST_SIZE / 2));
+  }
+
+  @Test
+  public void testPartialSort() {
+    CustomArrayList<Integer> list = generateRandomList();
+    Object[] expected = list.stream().sorted().limit(100).toArray();
+    list.partialSort(100, Comparator.naturalOrder());
+    assertArrayEquals(expected, list.subList(0, 100).toArray());
+    assertEquals(LIST_SIZE, list.size());
+  }
+
+  @Test
+  public void testTopK() {
+    CustomArrayList<Integer> list = generateRandomList();
+    Object[] original = list.toArray();
+    Object[] expected = list.stream().sorted(Comparator.reverseOrder()).limit(100).toArray();
+
+    CustomArrayList<Integer> top = list.topK(100, Comparator.reverseOrder());
+
+    assertArrayEquals(expected, top.toArray());
+    assertArrayEquals(original, list.toArray());
+    assertEquals(LIST_SIZE, list.topK(LIST_SIZE + 1, Comparator.naturalOrder()).size());
+    assertTrue(list.topK(0, Comparator.naturalOrder()).isEmpty());
+  }
+
+  @Test
+  public void testNthElementOutOfRange() {
+    CustomArrayList<Integer> list = generateRandomList();
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> list.nthElement(LIST_SIZE, Comparator.naturalOrder()));
+  }
+
+  @Test
+  public void testHeapify() {
+    CustomArrayList<Integer> list = generateRandomList();
+    Object[] sorted = list.stream().sorted().toArray();
+    CustomArrayList<Integer>.Heap heap = list.heapify(Comparator.naturalOrder());
+    for (Object expected : sorted) {
+      assertEquals(expected, heap.pop());
+    }
+    assertTrue(heap.isEmpty());
+  }
+
+  @Test
+  public void testHeapPushPeekReplaceTop() {
+    CustomArrayList<Integer> list = new CustomArrayList<>();
+    CustomArrayList<Integer>.Heap heap = list.heapify(Comparator.naturalOrder(), 4);
+    for (int i = 100; i > 0; i--) {
+      heap.push(i);
+    }
+    assertEquals(Integer.valueOf(1), heap.peek());
+    assertEquals(Integer.valueOf(1), heap.replaceTop(50));
+    assertEquals(Integer.valueOf(2), heap.pop());
+    assertEquals(99, heap.size());
+    assertEquals(99, heap.list().size());
+  }
+
+  @Test
+  public void testHeapDecreaseKey() {
+    CustomArrayList<Integer> list = generateRandomList();
+    CustomArrayList<Integer>.Heap heap = list.heapify(Comparator.naturalOrder(), 3);
+    heap.decreaseKey(LIST_SIZE - 1, -1);
+    assertEquals(Integer.valueOf(-1), heap.peek());
+    assertThrows(IllegalArgumentException.class,
+        () -> heap.decreaseKey(0, Integer.MAX_VALUE));
+  }
+
+  @Test
+  public void testHeapInvalidatedByListModification() {
+    CustomArrayList<Integer> list = generateRandomList();
+    CustomArrayList<Integer>.Heap heap = list.heapify(Comparator.naturalOrder());
+    list.add(5);
+    assertThrows(ConcurrentModificationException.class, heap::pop);
+    assertThrows(NoSuchElementException.class,
+        () -> new CustomArrayList<Integer>().heapify(Comparator.naturalOrder()).peek());
+  }
+
+  @Test
+  public void testMergeSorted() {
+    CustomArrayList<Integer> first = generateRandomList();
+    CustomArrayList<Integer> second = generateRandomList();
+    first.sort(Comparator.naturalOrder());
+    second.sort(Comparator.naturalOrder());
+    List<Integer> expected = new ArrayList<>(first);
+    expected.addAll(second);
+    expected.sort(Comparator.naturalOrder());
+
+    first.mergeSorted(second, Comparator.naturalOrder());
+    assertEquals(expected, first);
+
+    first.mergeSorted(new ArrayList<>(List.of(-1, LIST_SIZE)), Comparator.naturalOrder());
+    assertEquals(Integer.valueOf(-1), first.get(0));
+    assertEquals(Integer.valueOf(LIST_SIZE), first.get(first.size() - 1));
+  }
+
+  @Test
+  public void testKWayMerge() {
+    List<List<Integer>> lists = new ArrayList<>();
+    List<Integer> expected = new ArrayList<>();
+    for (int s = 0; s < 7; s++) {
+      CustomArrayList<Integer> list = generateRandomList();
+      list.sort(Comparator.naturalOrder());
+      lists.add(list);
+      expected.addAll(list);
+    }
+    lists.add(new ArrayList<>());
+    expected.sort(Comparator.naturalOrder());
+
+    assertEquals(expected, CustomArrayList.kWayMerge(lists, Comparator.naturalOrder()));
+    assertTrue(CustomArrayList.kWayMerge(List.<List<Integer>>of(), Comparator.naturalOrder())
+        .isEmpty());
+  }
+
+  @Test
+  public void testKWayMergeIsStable() {
+    List<List<String>> lists = List.of(List.of("a1", "b1"), List.of("a2", "b2"), List.of("a3"));
+    assertEquals(List.of("a1", "a2", "a3", "b1", "b2"),
+        CustomArrayList.kWayMerge(lists, Comparator.comparing(x -> x.charAt(0))));
+  }
+
+  @Test
+  public void testParallelMerge() {
+    CustomArrayList<Integer> first = new CustomArrayList<>();
+    CustomArrayList<Integer> second = new CustomArrayList<>();
+    Random random = new Random(3);
+    for (int i = 0; i < 300_000; i++) {
+      first.add(random.nextInt(1000));
+      second.add(random.nextInt(1000));
+    }
+    first.sort(Comparator.naturalOrder());
+    second.sort(Comparator.naturalOrder());
+    List<Integer> expected = new ArrayList<>(first);
+    expected.addAll(second);
+    expected.sort(Comparator.naturalOrder());
+
+    assertEquals(expected, CustomArrayList.parallelMerge(first, second, Comparator.naturalOrder()));
+  }
+
+  @Test
+  public void testDistinct() {
+    CustomArrayList<Integer> list = generateRandomList();
+    list.add(null);
+    list.add(null);
+    Object[] expected = list.stream().distinct().toArray();
+    assertTrue(list.distinct());
+    assertArrayEquals(expected, list.toArray());
+    assertFalse(list.distinct());
+  }
+
+  @Test
+  public void testDistinctByKey() {
+    CustomArrayList<String> list = new CustomArrayList<>();
+    list.addAll(List.of("apple", "avocado", "banana", "blueberry", "cherry"));
+    assertTrue(list.distinct(s -> s.charAt(0)));
+    assertEquals(List.of("apple", "banana", "cherry"), list);
+  }
+
+  @Test
+  public void testDistinctSorted() {
+    CustomArrayList<Integer> list = generateRandomList();
+    list.sort(Comparator.naturalOrder());
+    Object[] expected = list.stream().distinct().toArray();
+    assertTrue(list.distinctSorted(Comparator.naturalOrder()));
+    assertArrayEquals(expected, list.toArray());
+    assertFalse(list.distinctSorted(Comparator.naturalOrder()));
+  }
+
+  @Test
+  public void testRemoveRange() {
+    generateList();
+    CustomArrayList<Integer> list = (CustomArrayList<Integer>) this.list;
+    list.removeRange(10, 990);
+    assertEquals(20, list.size());
+    assertEquals(Integer.valueOf(9), list.get(9));
+    assertEquals(Integer.valueOf(990), list.get(10));
+    assertThrows(IndexOutOfBoundsException.class, () -> list.removeRange(0, 21));
+  }
+
+  @Test
+  public void testInsertAll() {
+    CustomArrayList<Integer> list = generateRandomList();
+    List<Integer> expected = new ArrayList<>(list);
+    expected.add(LIST_SIZE, -4);
+    expected.add(500, -2);
+    expected.add(500, -1);
+    expected.add(0, -3);
+
+    list.insertAll(new int[]{500, LIST_SIZE, 0, 500}, new Integer[]{-1, -4, -3, -2});
+    assertEquals(expected, list);
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> list.insertAll(new int[]{list.size() + 1}, new Integer[]{1}));
+  }
+
+  @Test
+  public void testRemoveAtIndices() {
+    CustomArrayList<Integer> list = generateRandomList();
+    List<Integer> expected = new ArrayList<>(list);
+    expected.remove(LIST_SIZE - 1);
+    expected.remove(700);
+    expected.remove(3);
+    expected.remove(0);
+
+    list.removeAt(new int[]{700, 0, LIST_SIZE - 1, 3, 700});
+    assertEquals(expected, list);
+    assertThrows(IndexOutOfBoundsException.class, () -> list.removeAt(new int[]{-1}));
+  }
+
+  @Test
+  public void testCanonicalizingModeSharesEqualElements() {
+    CustomArrayList<String> strings = new CustomArrayList<>();
+    strings.setInterner(new Interner());
+    strings.add(new String("value"));
+    strings.add(new String("value"));
+    strings.addAll(List.of(new String("value")));
+    strings.set(0, new String("value"));
+
+    assertSame(strings.get(0), strings.get(1));
+    assertSame(strings.get(1), strings.get(2));
+    assertEquals(0, strings.indexOf(new String("value")));
+    assertEquals(2, strings.lastIndexOf("value"));
+  }
+
+  @Test
+  public void testCanonicalizingModeCoversBulkStores() {
+    CustomArrayList<String> strings = new CustomArrayList<>();
+    strings.setInterner(new Interner());
+    strings.add(new String("value"));
+    strings.insertAll(new int[]{0, 1}, new String[]{new String("value"), new String("value")});
+    strings.mergeSorted(List.of(new String("value")), Comparator.naturalOrder());
+    strings.applyPatch(CustomArrayList.diff(List.copyOf(strings),
+        List.of("value", new String("value"), "value", "value", new String("value"))));
+    String canonical = strings.get(0);
+
+    for (String string : strings) {
+      assertSame(canonical, string);
+    }
+    strings.parallelReplaceAll(String::new);
+    for (String string : strings) {
+      assertSame(canonical, string);
+    }
+    strings.parallelSetAll(i -> new String("value"));
+    for (String string : strings) {
+      assertSame(canonical, string);
+    }
+    assertEquals(0, strings.canonicalize());
+  }
+
+  @Test
+  public void testCanonicalizeExistingElements() {
+    CustomArrayList<String> strings = new CustomArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      strings.add(new String("v" + i % 10));
+    }
+    Interner interner = new Interner();
+    strings.setInterner(interner);
+
+    assertEquals(90, strings.canonicalize());
+    assertSame(strings.get(3), strings.get(13));
+    assertEquals(0, strings.canonicalize());
+    assertTrue(interner.bytesSaved() > 0);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testCanonicalizeWithoutInterner() {
+    new CustomArrayList<String>().canonicalize();
+  }
+
+  @Test
+  public void testMembershipFilterAnswersLikeScan() {
+    CustomArrayList<Integer> numbers = new CustomArrayList<>();
+    numbers.enableMembershipFilter(0.01);
+    for (int i = 0; i < 10_000; i += 2) {
+      numbers.add(i);
+    }
+
+    for (int i = 0; i < 10_000; i++) {
+      assertEquals(i % 2 == 0, numbers.contains(i));
+    }
+    assertEquals(-1, numbers.indexOf(3));
+    assertFalse(numbers.remove(Integer.valueOf(3)));
+    assertTrue(numbers.membershipFilterBytes() > 0);
+  }
+
+  @Test
+  public void testMembershipFilterAfterRemovalsAndBulkEdits() {
+    CustomArrayList<Integer> numbers = new CustomArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      numbers.add(i);
+    }
+    numbers.enableMembershipFilter(0.05);
+    numbers.removeRange(0, 900);
+    numbers.set(0, -5);
+    numbers.parallelReplaceAll(x -> x + 10_000);
+    numbers.insertAll(new int[] {0}, new Integer[] {-1});
+
+    assertFalse(numbers.contains(950));
+    assertTrue(numbers.contains(10_950));
+    assertTrue(numbers.contains(9_995));
+    assertTrue(numbers.contains(-1));
+    assertEquals(0, numbers.indexOf(-1));
+
+    numbers.clear();
+    assertFalse(numbers.contains(-1));
+    numbers.disableMembershipFilter();
+    assertEquals(0, numbers.membershipFilterBytes());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMembershipFilterRejectsRate() {
+    new CustomArrayList<Integer>().enableMembershipFilter(1.0);
+  }
+
+  @Test
+  public void testHashCodeTracksModifications() {
+    CustomArrayList<Integer> numbers = new CustomArrayList<>();
+    List<Integer> reference = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      numbers.add(i);
+      reference.add(i);
+      assertEquals(reference.hashCode(), numbers.hashCode());
+    }
+    numbers.addAll(List.of(7, 8, 9));
+    reference.addAll(List.of(7, 8, 9));
+    assertEquals(reference.hashCode(), numbers.hashCode());
+
+    numbers.set(5, 500);
+    reference.set(5, 500);
+    assertEquals(reference.hashCode(), numbers.hashCode());
+
+    numbers.parallelReplaceAll(x -> x * 2);
+    reference.replaceAll(x -> x * 2);
+    assertEquals(reference.hashCode(), numbers.hashCode());
+
+    numbers.add(0, -1);
+    reference.add(0, -1);
+    numbers.sort(Comparator.naturalOrder());
+    reference.sort(Comparator.naturalOrder());
+    assertEquals(reference.hashCode(), numbers.hashCode());
+  }
+
+  @Test
+  public void testEqualsBetweenCustomArrayLists() {
+    CustomArrayList<String> first = new CustomArrayList<>();
+    CustomArrayList<String> second = new CustomArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      first.add("e" + i);
+      second.add("e" + i);
+    }
+    first.add(null);
+    second.add(null);
+    first.hashCode();
+    second.hashCode();
+
+    assertEquals(first, second);
+    second.set(10, "other");
+    assertNotEquals(first, second);
+    assertNotEquals(second, first);
+    second.set(10, "e10");
+    assertEquals(first, second);
+    assertEquals(first, new ArrayList<>(second));
+  }
+
+  @Test
+  public void testDiffAndApplyPatchRoundTrip() {
+    Random random = new Random(50);
+    for (int round = 0; round < 200; round++) {
+      CustomArrayList<Integer> oldList = new CustomArrayList<>();
+      int oldSize = random.nextInt(40);
+      for (int i = 0; i < oldSize; i++) {
+        oldList.add(random.nextInt(8));
+      }
+      List<Integer> newList = new ArrayList<>(oldList);
+      for (int edit = random.nextInt(6); edit > 0; edit--) {
+        int choice = random.nextInt(3);
+        if (choice == 0 || newList.isEmpty()) {
+          newList.add(random.nextInt(newList.size() + 1), random.nextInt(8));
+        } else if (choice == 1) {
+          newList.remove(random.nextInt(newList.size()));
+        } else {
+          newList.set(random.nextInt(newList.size()), random.nextInt(8));
+        }
+      }
+
+      ListPatch<Integer> patch = CustomArrayList.diff(oldList, newList);
+      oldList.applyPatch(patch);
+
+      assertEquals(newList, oldList);
+    }
+  }
+
+  @Test
+  public void testDiffOfLargeListsIsProportionalToChange() {
+    CustomArrayList<Integer> oldList = new CustomArrayList<>();
+    for (int i = 0; i < 100_000; i++) {
+      oldList.add(i);
+    }
+    List<Integer> newList = new ArrayList<>(oldList);
+    newList.remove(70_000);
+    newList.add(500, -1);
+    newList.set(90_000, -2);
+    newList.addAll(40_000, List.of(-3, -4, -5));
+
+    ListPatch<Integer> patch = CustomArrayList.diff(oldList, newList);
+    oldList.applyPatch(patch);
+
+    assertEquals(4, patch.runCount());
+    assertEquals(newList, oldList);
+  }
+
+  @Test
+  public void testApplyPatchRejectsWrongSize() {
+    ListPatch<Integer> patch = CustomArrayList.diff(List.of(1, 2), List.of(2));
+    CustomArrayList<Integer> numbers = new CustomArrayList<>();
+    numbers.add(1);
+
+    assertThrows(IllegalArgumentException.class, () -> numbers.applyPatch(patch));
+  }
+
+  @Test
+  public void testHeapRejectsMutationAfterFreeze() {
+    CustomArrayList<Integer> list = generateRandomList();
+    CustomArrayList<Integer>.Heap heap = list.heapify(Comparator.naturalOrder());
+    list.freeze();
+    assertThrows(UnsupportedOperationException.class, () -> heap.push(1));
+    assertThrows(UnsupportedOperationException.class, heap::pop);
+    assertThrows(UnsupportedOperationException.class, () -> heap.replaceTop(1));
+    assertThrows(ConcurrentModificationException.class, heap::peek);
+  }
+
+  @Test
+  public void testHeapifyEmptyListWithWideArity() {
+    CustomArrayList<Integer> list = new CustomArrayList<>(0);
+    CustomArrayList<Integer>.Heap heap = list.heapify(Comparator.naturalOrder(), 3);
+    assertTrue(heap.isEmpty());
+    heap.push(2);
+    heap.push(1);
+    assertEquals(Integer.valueOf(1), heap.pop());
+  }
+
+  @Test
+  public void testMembershipFilterIsRebuiltByMutationsNotLookups() {
+    CustomArrayList<Integer> numbers = new CustomArrayList<>();
+    numbers.enableMembershipFilter(0.01);
+    for (int i = 0; i < 10_000; i++) {
+      numbers.add(i);
+    }
+    long grownBytes = numbers.membershipFilterBytes();
+    numbers.removeRange(0, 9_000);
+    long shrunkBytes = numbers.membershipFilterBytes();
+    assertTrue(shrunkBytes < grownBytes);
+
+    numbers.freeze();
+    for (int i = 0; i < 10_000; i++) {
+      assertEquals(i >= 9_000, numbers.contains(i));
+    }
+    assertEquals(shrunkBytes, numbers.membershipFilterBytes());
+  }
+
+  @Test
+  public void testFrozenListHashedConcurrently() throws Exception {
+    int threads = 4;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      for (int round = 0; round < 50; round++) {
+        CustomArrayList<Integer> frozen = generateRandomList();
+        int expected = new ArrayList<>(frozen).hashCode();
+        frozen.freeze();
+        CyclicBarrier start = new CyclicBarrier(threads);
+        List<Future<Integer>> hashes = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+          hashes.add(executor.submit(() -> {
+            start.await();
+            return frozen.hashCode();
+          }));
+        }
+        for (Future<Integer> hash : hashes) {
+          assertEquals(expected, (int) hash.get());
+        }
+        assertEquals(expected, frozen.hashCode());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   private void generateList() {
     for (int i = 0; i < 1000; i++) {
       list.add(i);
@@ -0,0 +1,112 @@
+package by.russianzak.customarraylist;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import by.russianzak.customarraylist.CustomArrayList.CustomIntArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CustomIntArrayListTest {
+
+  private static final int LIST_SIZE = 10007;
+
+  private CustomIntArrayList list;
+  private int[] values;
+
+  @Before
+  public void setUp() {
+    Random random = new Random(42);
+    list = new CustomIntArrayList();
+    values = new int[LIST_SIZE];
+    for (int i = 0; i < LIST_SIZE; i++) {
+      values[i] = random.nextInt();
+      list.add(values[i]);
+    }
+  }
+
+  @Test
+  public void testAddAndGet() {
+    assertEquals(LIST_SIZE, list.size());
+    assertArrayEquals(values, list.toArray());
+    assertEquals(values[17], list.get(17));
+  }
+
+  @Test
+  public void testAddAtIndexAndRemoveAt() {
+    list.add(0, 5);
+    assertEquals(5, list.get(0));
+    assertEquals(5, list.removeAt(0));
+    assertArrayEquals(values, list.toArray());
+  }
+
+  @Test
+  public void testIndexOfAndContains() {
+    int[] probes = {0, 1, 63, 64, 65, LIST_SIZE - 1};
+    for (int probe : probes) {
+      list.set(probe, 123456789);
+      assertEquals(probe, list.indexOf(123456789));
+      list.set(probe, values[probe]);
+    }
+    int absent = 0;
+    while (contains(values, absent)) {
+      absent++;
+    }
+    assertFalse(list.contains(absent));
+    assertTrue(list.contains(values[LIST_SIZE - 1]));
+  }
+
+  @Test
+  public void testAggregations() {
+    assertEquals(Arrays.stream(values).min().getAsInt(), list.min());
+    assertEquals(Arrays.stream(values).max().getAsInt(), list.max());
+    assertEquals(Arrays.stream(values).asLongStream().sum(), list.sum());
+    assertEquals(Arrays.stream(values).filter(v -> v > 1000).count(), list.countGreaterThan(1000));
+  }
+
+  @Test
+  public void testSmallListUsesScalarPath() {
+    CustomIntArrayList small = new CustomIntArrayList();
+    small.add(3);
+    small.add(-7);
+    small.add(11);
+    assertEquals(-7, small.min());
+    assertEquals(11, small.max());
+    assertEquals(7, small.sum());
+    assertEquals(2, small.countGreaterThan(0));
+    assertEquals(2, small.indexOf(11));
+  }
+
+  @Test
+  public void testMinOfEmptyList() {
+    assertThrows(NoSuchElementException.class, () -> new CustomIntArrayList().min());
+  }
+
+  @Test
+  public void testForEachVisitsValuesInOrder() {
+    long[] sum = new long[1];
+    int[] count = new int[1];
+    list.forEach(value -> {
+      assertEquals(values[count[0]++], value);
+      sum[0] += value;
+    });
+    assertEquals(LIST_SIZE, count[0]);
+    assertEquals(list.sum(), sum[0]);
+  }
+
+  @Test
+  public void testForEachFailsFastOnModification() {
+    assertThrows(ConcurrentModificationException.class, () -> list.forEach(value -> list.add(1)));
+  }
+
+  private static boolean contains(int[] array, int value) {
+    return Arrays.stream(array).anyMatch(v -> v == value);
+  }
+}
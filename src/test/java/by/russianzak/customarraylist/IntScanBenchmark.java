@@ -0,0 +1,76 @@
+package by.russianzak.customarraylist;
+
+import by.russianzak.customarraylist.CustomArrayList.CustomIntArrayList;
+import java.util.Random;
+
+/**
+ * Compares the scans of {@link CustomIntArrayList} with plain scalar loops over the same data.
+ * Run from the test classpath with and without {@code --add-modules jdk.incubator.vector}:
+ *
+ * <pre>
+ * java --add-modules jdk.incubator.vector -cp target/classes:target/test-classes \
+ *     by.russianzak.customarraylist.IntScanBenchmark
+ * </pre>
+ */
+public class IntScanBenchmark {
+
+  private static final int SIZE = 1 << 22;
+  private static final int ROUNDS = 50;
+
+  public static void main(String[] args) {
+    Random random = new Random(1);
+    CustomIntArrayList list = new CustomIntArrayList(SIZE);
+    int[] raw = new int[SIZE];
+    for (int i = 0; i < SIZE; i++) {
+      raw[i] = random.nextInt(1_000_000);
+      list.add(raw[i]);
+    }
+
+    for (int warmup = 0; warmup < 3; warmup++) {
+      run(list, raw, false);
+    }
+    run(list, raw, true);
+  }
+
+  private static void run(CustomIntArrayList list, int[] raw, boolean report) {
+    long blackhole = 0;
+
+    long start = System.nanoTime();
+    for (int r = 0; r < ROUNDS; r++) {
+      blackhole += list.indexOf(-1) + list.sum() + list.min() + list.countGreaterThan(500_000);
+    }
+    long listTime = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    for (int r = 0; r < ROUNDS; r++) {
+      int index = -1;
+      long sum = 0;
+      int min = Integer.MAX_VALUE;
+      int count = 0;
+      for (int value : raw) {
+        if (value == -1 && index == -1) {
+          index = 0;
+        }
+      }
+      for (int value : raw) {
+        sum += value;
+      }
+      for (int value : raw) {
+        min = Math.min(min, value);
+      }
+      for (int value : raw) {
+        if (value > 500_000) {
+          count++;
+        }
+      }
+      blackhole += index + sum + min + count;
+    }
+    long scalarTime = System.nanoTime() - start;
+
+    if (report) {
+      System.out.printf("list: %d ms, scalar: %d ms, speedup: %.2fx (%d)%n",
+          listTime / 1_000_000, scalarTime / 1_000_000, (double) scalarTime / listTime,
+          blackhole & 1);
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package by.russianzak.customarraylist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import by.russianzak.customarraylist.CustomArrayList.CustomArrayList;
+import by.russianzak.customarraylist.CustomArrayList.Interner;
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class InternerTest {
+
+  @Test
+  public void testEqualValuesShareOneInstance() {
+    Interner interner = new Interner();
+    String first = new String("shared");
+    String second = new String("shared");
+
+    assertSame(first, interner.intern(first));
+    assertSame(first, interner.intern(second));
+    assertNull(interner.intern(null));
+    assertEquals(1, interner.tableSize());
+    assertEquals(2, interner.internCount());
+    assertEquals(1, interner.dedupCount());
+    assertEquals(40 + 6, interner.bytesSaved());
+  }
+
+  @Test
+  public void testRegisteredCanonicalizerBypassesTable() {
+    Interner interner = new Interner();
+    BigInteger canonical = BigInteger.valueOf(1_000_000);
+    interner.register(BigInteger.class,
+        value -> value.equals(canonical) ? canonical : value, value -> 64);
+
+    assertSame(canonical, interner.intern(new BigInteger("1000000")));
+    assertEquals(0, interner.tableSize());
+    assertEquals(64, interner.bytesSaved());
+  }
+
+  @Test
+  public void testLookupsDoNotCallCanonicalizer() {
+    Interner interner = new Interner();
+    AtomicInteger calls = new AtomicInteger();
+    interner.register(BigInteger.class, value -> {
+      calls.incrementAndGet();
+      return value;
+    }, value -> 64);
+    CustomArrayList<Object> list = new CustomArrayList<>();
+    list.setInterner(interner);
+    list.add(BigInteger.TEN);
+    String stored = new String("stored");
+    list.add(stored);
+    assertEquals(1, calls.get());
+
+    assertEquals(0, list.indexOf(new BigInteger("10")));
+    assertEquals(1, list.lastIndexOf(new String("stored")));
+    assertEquals(-1, list.indexOf("missing"));
+    assertEquals(1, calls.get());
+    assertEquals(1, interner.tableSize());
+  }
+}
@@ -0,0 +1,123 @@
+package by.russianzak.customarraylist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import by.russianzak.customarraylist.CustomArrayList.CustomArrayList;
+import by.russianzak.customarraylist.CustomArrayList.LazyView;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LazyViewTest {
+
+  private CustomArrayList<Integer> list;
+
+  @Before
+  public void setUp() {
+    list = new CustomArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      list.add(i);
+    }
+  }
+
+  @Test
+  public void testMapViewIsLazy() {
+    AtomicInteger calls = new AtomicInteger();
+    LazyView<Integer> view = list.mapView(x -> {
+      calls.incrementAndGet();
+      return x * 2;
+    });
+    assertEquals(0, calls.get());
+    assertEquals(Integer.valueOf(20), view.get(10));
+    assertEquals(1, calls.get());
+    assertEquals(1000, view.size());
+  }
+
+  @Test
+  public void testFilterMapLimitShortCircuits() {
+    AtomicInteger inspected = new AtomicInteger();
+    LazyView<String> view = list
+        .filterView(x -> {
+          inspected.incrementAndGet();
+          return x % 2 == 0;
+        })
+        .mapView(x -> "v" + x)
+        .limitView(3);
+
+    assertEquals(List.of("v0", "v2", "v4"), view.toList());
+    assertEquals(5, inspected.get());
+  }
+
+  @Test
+  public void testFusedStagesMatchEagerResult() {
+    LazyView<Integer> view = list
+        .mapView(x -> x + 1)
+        .mapView(x -> x * 3)
+        .filterView(x -> x % 2 == 0)
+        .filterView(x -> x > 100);
+
+    List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      int value = (i + 1) * 3;
+      if (value % 2 == 0 && value > 100) {
+        expected.add(value);
+      }
+    }
+    assertEquals(expected, view.toList());
+    assertEquals(expected.size(), view.size());
+    assertEquals(expected.get(7), view.get(7));
+
+    List<Integer> iterated = new ArrayList<>();
+    for (Integer value : view) {
+      iterated.add(value);
+    }
+    assertEquals(expected, iterated);
+  }
+
+  @Test
+  public void testConcatView() {
+    LazyView<Integer> view = list.limitView(2).concatView(List.of(-1, -2)).limitView(3);
+    assertEquals(List.of(0, 1, -1), view.toList());
+    assertEquals(List.of(0, 1, -1), new ArrayList<>(view));
+  }
+
+  @Test
+  public void testConcatGetResolvesIndexDirectly() {
+    AtomicInteger calls = new AtomicInteger();
+    LazyView<Integer> view = list.mapView(x -> {
+      calls.incrementAndGet();
+      return x;
+    }).concatView(List.of(-1, -2));
+
+    assertEquals(Integer.valueOf(-2), view.get(1001));
+    assertEquals(Integer.valueOf(500), view.get(500));
+    assertEquals(1, calls.get());
+    assertEquals(1002, view.size());
+    assertThrows(IndexOutOfBoundsException.class, () -> view.get(1002));
+  }
+
+  @Test
+  public void testGetOutOfRange() {
+    LazyView<Integer> view = list.filterView(x -> x < 5);
+    assertThrows(IndexOutOfBoundsException.class, () -> view.get(5));
+  }
+
+  @Test
+  public void testNegativeLimit() {
+    assertThrows(IllegalArgumentException.class, () -> list.limitView(-1));
+  }
+
+  @Test
+  public void testViewIsFailFast() {
+    LazyView<Integer> view = list.mapView(x -> x);
+    Iterator<Integer> iterator = view.iterator();
+    iterator.next();
+    list.add(1000);
+    assertThrows(ConcurrentModificationException.class, iterator::next);
+  }
+}
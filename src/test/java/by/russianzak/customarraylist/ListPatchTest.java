@@ -0,0 +1,89 @@
+package by.russianzak.customarraylist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import by.russianzak.customarraylist.CustomArrayList.CustomArrayList;
+import by.russianzak.customarraylist.CustomArrayList.ElementCodec;
+import by.russianzak.customarraylist.CustomArrayList.ListPatch;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+public class ListPatchTest {
+
+  @Test
+  public void testRunsDescribeTheChange() {
+    ListPatch<String> patch = CustomArrayList.diff(List.of("a", "b", "c", "d"),
+        List.of("a", "x", "c", "d", "e"));
+
+    assertEquals(2, patch.runCount());
+    assertEquals(1, patch.position(0));
+    assertEquals(1, patch.deleteCount(0));
+    assertEquals(List.of("x"), patch.inserted(0));
+    assertEquals(4, patch.position(1));
+    assertEquals(0, patch.deleteCount(1));
+    assertEquals(List.of("e"), patch.inserted(1));
+  }
+
+  @Test
+  public void testEncodeDecodeRoundTrip() {
+    List<String> oldList = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      oldList.add("line " + i);
+    }
+    List<String> newList = new ArrayList<>(oldList);
+    newList.set(5000, "changed");
+    newList.add(9000, null);
+
+    byte[] bytes = CustomArrayList.diff(oldList, newList).encode(ElementCodec.strings());
+    ListPatch<String> decoded = ListPatch.decode(bytes, ElementCodec.strings());
+    CustomArrayList<String> target = new CustomArrayList<>();
+    target.addAll(oldList);
+    target.applyPatch(decoded);
+
+    assertTrue(bytes.length < 40);
+    assertEquals(newList, target);
+  }
+
+  @Test
+  public void testEqualListsGiveEmptyPatch() {
+    ListPatch<Integer> patch = CustomArrayList.diff(List.of(1, 2, 3), List.of(1, 2, 3));
+
+    assertTrue(patch.isEmpty());
+    assertEquals(3, patch.newSize());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDecodeTruncatedPatch() {
+    byte[] bytes = CustomArrayList.diff(List.of(1L), List.of(2L)).encode(ElementCodec.longs());
+    ListPatch.decode(Arrays.copyOf(bytes, bytes.length - 1), ElementCodec.longs());
+  }
+
+  @Test
+  public void testDecodeRejectsGapPastEndOfList() {
+    // oldSize 4, newSize 4, two runs replacing one element each with 0L; the second gap of
+    // 2^31 - 1 wraps the position negative
+    byte[] bytes = {4, 4, 2,
+        0, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0,
+        (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0};
+    CustomArrayList<Long> target = new CustomArrayList<>();
+    target.addAll(List.of(1L, 2L, 3L, 4L));
+
+    try {
+      target.applyPatch(ListPatch.decode(bytes, ElementCodec.longs()));
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+      assertEquals(List.of(1L, 2L, 3L, 4L), target);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDecodeRejectsDeletionPastEndOfList() {
+    // oldSize 4, newSize 0, one run deleting five elements from position 0
+    byte[] bytes = {4, 0, 1, 0, 5, 0};
+    ListPatch.decode(bytes, ElementCodec.longs());
+  }
+}
@@ -0,0 +1,118 @@
+package by.russianzak.customarraylist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import by.russianzak.customarraylist.CustomArrayList.CustomArrayList;
+import by.russianzak.customarraylist.CustomArrayList.Interner;
+import by.russianzak.customarraylist.CustomArrayList.ListPool;
+import org.junit.Test;
+
+public class ListPoolTest {
+
+  @Test
+  public void testReleasedListIsReusedEmpty() {
+    ListPool pool = new ListPool();
+    CustomArrayList<String> list = pool.acquire(20);
+    list.add("a");
+    list.add("b");
+    pool.release(list);
+
+    CustomArrayList<String> again = pool.acquire(30);
+
+    assertSame(list, again);
+    assertTrue(again.isEmpty());
+    assertEquals(2, pool.acquireCount());
+    assertEquals(1, pool.hitCount());
+    assertEquals(0.5, pool.hitRate(), 0.0);
+  }
+
+  @Test
+  public void testReacquiredListHasOptionalModesReset() {
+    ListPool pool = new ListPool();
+    CustomArrayList<String> list = pool.acquire(20);
+    list.setInterner(new Interner());
+    list.enableMembershipFilter(0.01);
+    list.add("a");
+    pool.release(list);
+
+    CustomArrayList<String> again = pool.acquire(20);
+
+    assertSame(list, again);
+    assertNull(again.getInterner());
+    assertEquals(0, again.membershipFilterBytes());
+    again.add("b");
+    assertTrue(again.contains("b"));
+    assertEquals(0, again.membershipFilterBytes());
+  }
+
+  @Test
+  public void testSmallerClassIsNotReusedForLargerRequest() {
+    ListPool pool = new ListPool();
+    CustomArrayList<Integer> small = pool.acquire(10);
+    pool.release(small);
+
+    assertNotSame(small, pool.acquire(100));
+    assertSame(small, pool.acquire(5));
+  }
+
+  @Test
+  public void testSteadyStateIsServedFromPool() {
+    ListPool pool = new ListPool();
+    for (int request = 0; request < 100; request++) {
+      CustomArrayList<Integer> first = pool.acquire(50);
+      CustomArrayList<Integer> second = pool.acquire(50);
+      for (int i = 0; i < 50; i++) {
+        first.add(i);
+        second.add(i);
+      }
+      pool.release(first);
+      pool.release(second);
+    }
+
+    assertEquals(198, pool.hitCount());
+  }
+
+  @Test
+  public void testOversizedListIsTrimmed() {
+    ListPool pool = new ListPool(64, 4, false);
+    CustomArrayList<Integer> list = pool.acquire(64);
+    for (int i = 0; i < 1000; i++) {
+      list.add(i);
+    }
+    pool.release(list);
+
+    assertSame(list, pool.acquire(64));
+  }
+
+  @Test
+  public void testDebugModeTracksLeases() {
+    ListPool pool = new ListPool(1024, 4, true);
+    CustomArrayList<Integer> leaked = pool.acquire(10);
+    CustomArrayList<Integer> returned = pool.acquire(10);
+    pool.release(returned);
+
+    assertEquals(1, pool.outstandingLeases().size());
+    pool.release(leaked);
+    assertTrue(pool.outstandingLeases().isEmpty());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testDebugModeRejectsDoubleRelease() {
+    ListPool pool = new ListPool(1024, 4, true);
+    CustomArrayList<Integer> list = pool.acquire(10);
+    pool.release(list);
+    pool.release(list);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testReleaseFrozenList() {
+    ListPool pool = new ListPool();
+    CustomArrayList<Integer> list = pool.acquire(10);
+    list.freeze();
+    pool.release(list);
+  }
+}
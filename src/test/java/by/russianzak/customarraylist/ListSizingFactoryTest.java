@@ -0,0 +1,76 @@
+package by.russianzak.customarraylist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import by.russianzak.customarraylist.CustomArrayList.CustomArrayList;
+import by.russianzak.customarraylist.CustomArrayList.ListSizingFactory;
+import java.util.Map;
+import org.junit.Test;
+
+public class ListSizingFactoryTest {
+
+  @Test
+  public void testUnknownSiteUsesDefaultCapacity() {
+    ListSizingFactory factory = new ListSizingFactory();
+
+    assertEquals(10, factory.suggestedCapacity("unknown"));
+    assertTrue(factory.newList("unknown").isEmpty());
+  }
+
+  @Test
+  public void testSuggestsCapacityCoveringPercentile() {
+    ListSizingFactory factory = new ListSizingFactory(0.9, 1.0);
+    for (int i = 0; i < 95; i++) {
+      factory.recordSize("orders", 1000);
+    }
+    for (int i = 0; i < 5; i++) {
+      factory.recordSize("orders", 100_000);
+    }
+
+    int capacity = factory.suggestedCapacity("orders");
+    assertTrue(capacity >= 1000);
+    assertTrue(capacity < 1250);
+    assertEquals(100, factory.recordCount());
+    assertTrue(factory.resizeCopiesAvoided() > 0);
+  }
+
+  @Test
+  public void testDecayFollowsWorkloadChanges() {
+    ListSizingFactory factory = new ListSizingFactory(0.5, 0.8);
+    for (int i = 0; i < 50; i++) {
+      factory.recordSize("site", 20);
+    }
+    for (int i = 0; i < 50; i++) {
+      factory.recordSize("site", 5000);
+    }
+
+    assertTrue(factory.suggestedCapacity("site") >= 5000);
+  }
+
+  @Test
+  public void testExportAndPreload() {
+    ListSizingFactory trained = new ListSizingFactory();
+    for (int i = 0; i < 10; i++) {
+      trained.recordSize("a", 300);
+      trained.recordSize("b", 7);
+    }
+    Map<String, Integer> profile = trained.exportProfile();
+
+    ListSizingFactory fresh = new ListSizingFactory();
+    fresh.preload(profile);
+
+    assertEquals(profile, fresh.exportProfile());
+    assertEquals(7, fresh.suggestedCapacity("b"));
+    CustomArrayList<Integer> list = fresh.newList("a");
+    for (int i = 0; i < 300; i++) {
+      list.add(i);
+    }
+    assertEquals(300, list.size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeSize() {
+    new ListSizingFactory().recordSize("site", -1);
+  }
+}
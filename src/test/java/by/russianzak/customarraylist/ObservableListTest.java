@@ -0,0 +1,186 @@
+package by.russianzak.customarraylist;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import by.russianzak.customarraylist.CustomArrayList.CustomArrayList;
+import by.russianzak.customarraylist.CustomArrayList.ListChange;
+import by.russianzak.customarraylist.CustomArrayList.ListChange.Kind;
+import by.russianzak.customarraylist.CustomArrayList.ObservableList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Flow;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ObservableListTest {
+
+  private ObservableList<Integer> list;
+  private List<List<ListChange<Integer>>> batches;
+
+  @Before
+  public void setUp() {
+    list = new ObservableList<>(new CustomArrayList<>(), Runnable::run, 16);
+    batches = new ArrayList<>();
+  }
+
+  @Test
+  public void testNoChangesRecordedWithoutSubscribers() {
+    list.add(1);
+    list.add(2);
+    subscribe();
+
+    assertTrue(batches.isEmpty());
+    assertEquals(List.of(1, 2), list);
+  }
+
+  @Test
+  public void testEachMutationIsOneBatchOutsideBatch() {
+    subscribe();
+    list.add(5);
+    list.add(0, 4);
+    list.set(1, 6);
+    list.remove(0);
+
+    assertEquals(4, batches.size());
+    ListChange<Integer> inserted = batches.get(1).get(0);
+    assertEquals(Kind.ADDED, inserted.kind());
+    assertEquals(0, inserted.from());
+    assertEquals(List.of(4), inserted.values());
+    assertEquals(Kind.SET, batches.get(2).get(0).kind());
+    assertEquals(Kind.REMOVED, batches.get(3).get(0).kind());
+  }
+
+  @Test
+  public void testAdjacentChangesCoalesceInBatch() {
+    for (int i = 0; i < 10; i++) {
+      list.add(i);
+    }
+    subscribe();
+    list.batch(() -> {
+      list.add(100);
+      list.add(101);
+      list.addAll(List.of(102, 103));
+      list.set(11, -1);
+      list.remove(2);
+      list.remove(2);
+      list.remove(1);
+      list.set(0, 7);
+      list.set(1, 8);
+    });
+
+    assertEquals(1, batches.size());
+    List<ListChange<Integer>> batch = batches.get(0);
+    assertEquals(3, batch.size());
+    assertEquals(Kind.ADDED, batch.get(0).kind());
+    assertEquals(10, batch.get(0).from());
+    assertEquals(14, batch.get(0).to());
+    assertEquals(List.of(100, -1, 102, 103), batch.get(0).values());
+    assertEquals(Kind.REMOVED, batch.get(1).kind());
+    assertEquals(1, batch.get(1).from());
+    assertEquals(4, batch.get(1).to());
+    assertEquals(Kind.SET, batch.get(2).kind());
+    assertEquals(List.of(7, 8), batch.get(2).values());
+  }
+
+  @Test
+  public void testLargeBatchCoalescesIntoOneChange() {
+    subscribe();
+    list.batch(() -> {
+      for (int i = 0; i < 50_000; i++) {
+        list.add(i);
+      }
+      for (int i = 0; i < 50_000; i += 2) {
+        list.set(i, -i);
+      }
+    });
+    list.add(7);
+
+    assertEquals(2, batches.size());
+    ListChange<Integer> change = batches.get(0).get(0);
+    assertEquals(1, batches.get(0).size());
+    assertEquals(50_000, change.values().size());
+    assertEquals(Integer.valueOf(-2), change.values().get(2));
+    assertEquals(Integer.valueOf(3), change.values().get(3));
+    assertEquals(List.of(7), batches.get(1).get(0).values());
+  }
+
+  @Test
+  public void testSortWithDuplicatesIsStable() {
+    ObservableList<String> words = new ObservableList<>(new CustomArrayList<>(), Runnable::run, 16);
+    words.addAll(List.of("bb", "a1", "cc", "a2", "dd", "a3"));
+    List<int[]> permutations = new ArrayList<>();
+    words.subscribe(new Flow.Subscriber<>() {
+      @Override
+      public void onSubscribe(Flow.Subscription subscription) {
+        subscription.request(Long.MAX_VALUE);
+      }
+
+      @Override
+      public void onNext(List<ListChange<String>> item) {
+        permutations.add(item.get(0).permutation());
+      }
+
+      @Override
+      public void onError(Throwable throwable) {
+      }
+
+      @Override
+      public void onComplete() {
+      }
+    });
+    words.sort(Comparator.comparingInt(String::length).thenComparing(w -> w.charAt(0)));
+
+    assertEquals(List.of("a1", "a2", "a3", "bb", "cc", "dd"), words);
+    assertArrayEquals(new int[] {1, 3, 5, 0, 2, 4}, permutations.get(0));
+  }
+
+  @Test
+  public void testSortPublishesPermutation() {
+    list.addAll(List.of(30, 10, 20));
+    subscribe();
+    list.sort(Comparator.naturalOrder());
+
+    ListChange<Integer> change = batches.get(0).get(0);
+    assertEquals(Kind.PERMUTED, change.kind());
+    assertArrayEquals(new int[] {1, 2, 0}, change.permutation());
+    assertEquals(List.of(10, 20, 30), list);
+  }
+
+  @Test
+  public void testClearIsOneRemovedRange() {
+    list.addAll(List.of(1, 2, 3));
+    subscribe();
+    list.clear();
+
+    ListChange<Integer> change = batches.get(0).get(0);
+    assertEquals(Kind.REMOVED, change.kind());
+    assertEquals(0, change.from());
+    assertEquals(3, change.to());
+    assertTrue(list.isEmpty());
+  }
+
+  private void subscribe() {
+    list.subscribe(new Flow.Subscriber<>() {
+      @Override
+      public void onSubscribe(Flow.Subscription subscription) {
+        subscription.request(Long.MAX_VALUE);
+      }
+
+      @Override
+      public void onNext(List<ListChange<Integer>> item) {
+        batches.add(item);
+      }
+
+      @Override
+      public void onError(Throwable throwable) {
+      }
+
+      @Override
+      public void onComplete() {
+      }
+    });
+  }
+}
@@ -0,0 +1,130 @@
+package by.russianzak.customarraylist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import by.russianzak.customarraylist.CustomArrayList.CustomArrayList;
+import by.russianzak.customarraylist.CustomArrayList.PersistentVector;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class PersistentVectorTest {
+
+  private static final int VECTOR_SIZE = 40000;
+
+  @Test
+  public void testEmpty() {
+    PersistentVector<Integer> vector = PersistentVector.empty();
+    assertEquals(0, vector.size());
+    assertTrue(vector.isEmpty());
+    assertThrows(IndexOutOfBoundsException.class, () -> vector.get(0));
+  }
+
+  @Test
+  public void testAppendAndGet() {
+    PersistentVector<Integer> vector = PersistentVector.empty();
+    for (int i = 0; i < VECTOR_SIZE; i++) {
+      vector = vector.append(i);
+    }
+    assertEquals(VECTOR_SIZE, vector.size());
+    for (int i = 0; i < VECTOR_SIZE; i++) {
+      assertEquals(Integer.valueOf(i), vector.get(i));
+    }
+  }
+
+  @Test
+  public void testAppendKeepsOldVersions() {
+    PersistentVector<Integer> first = PersistentVector.of(1, 2, 3);
+    PersistentVector<Integer> second = first.append(4);
+    assertEquals(3, first.size());
+    assertEquals(4, second.size());
+    assertEquals(Integer.valueOf(4), second.get(3));
+  }
+
+  @Test
+  public void testSetKeepsOldVersions() {
+    PersistentVector<Integer> vector = build(VECTOR_SIZE);
+    PersistentVector<Integer> updated = vector.set(1234, -1).set(VECTOR_SIZE - 1, -2);
+    assertEquals(Integer.valueOf(1234), vector.get(1234));
+    assertEquals(Integer.valueOf(-1), updated.get(1234));
+    assertEquals(Integer.valueOf(-2), updated.get(VECTOR_SIZE - 1));
+    assertEquals(Integer.valueOf(1233), updated.get(1233));
+  }
+
+  @Test
+  public void testPop() {
+    PersistentVector<Integer> vector = build(VECTOR_SIZE);
+    for (int i = VECTOR_SIZE - 1; i >= 0; i--) {
+      assertEquals(Integer.valueOf(i), vector.get(vector.size() - 1));
+      vector = vector.pop();
+    }
+    assertTrue(vector.isEmpty());
+    assertThrows(IllegalStateException.class, vector::pop);
+  }
+
+  @Test
+  public void testBuilderIsReusableAfterBuild() {
+    PersistentVector.Builder<Integer> builder = PersistentVector.builder();
+    for (int i = 0; i < 100; i++) {
+      builder.add(i);
+    }
+    PersistentVector<Integer> first = builder.build();
+    builder.set(5, -5).add(100);
+    PersistentVector<Integer> second = builder.build();
+    assertEquals(100, first.size());
+    assertEquals(Integer.valueOf(5), first.get(5));
+    assertEquals(101, second.size());
+    assertEquals(Integer.valueOf(-5), second.get(5));
+  }
+
+  @Test
+  public void testIteratorAndEquals() {
+    PersistentVector<Integer> vector = build(1000);
+    List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      expected.add(i);
+    }
+    List<Integer> actual = new ArrayList<>();
+    vector.forEach(actual::add);
+    assertEquals(expected, actual);
+    assertEquals(expected, vector.asList());
+    assertEquals(build(1000), vector);
+    assertEquals(expected.hashCode(), vector.hashCode());
+  }
+
+  @Test
+  public void testFromFrozenList() {
+    CustomArrayList<String> list = new CustomArrayList<>();
+    list.add("a");
+    list.add(null);
+    list.add("c");
+    list.freeze();
+
+    PersistentVector<String> vector = list.toPersistentVector();
+    assertEquals(3, vector.size());
+    assertNull(vector.get(1));
+
+    PersistentVector<String> appended = vector.append("d").set(0, "z");
+    assertEquals("a", vector.get(0));
+    assertEquals("z", appended.get(0));
+    assertEquals("d", appended.get(3));
+    assertEquals(3, list.size());
+  }
+
+  @Test
+  public void testConversionRequiresFrozenList() {
+    CustomArrayList<String> list = new CustomArrayList<>();
+    assertThrows(IllegalStateException.class, list::toPersistentVector);
+  }
+
+  private PersistentVector<Integer> build(int size) {
+    PersistentVector.Builder<Integer> builder = PersistentVector.builder();
+    for (int i = 0; i < size; i++) {
+      builder.add(i);
+    }
+    return builder.build();
+  }
+}
@@ -0,0 +1,90 @@
+package by.russianzak.customarraylist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import by.russianzak.customarraylist.CustomArrayList.ReferenceList;
+import by.russianzak.customarraylist.CustomArrayList.ReferenceList.Strength;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class ReferenceListTest {
+
+  private static final int LIST_SIZE = 1000;
+
+  @Test
+  public void testStronglyReachableElementsStay() {
+    List<Object> keep = new ArrayList<>();
+    ReferenceList<Object> list = new ReferenceList<>(Strength.WEAK);
+    for (int i = 0; i < LIST_SIZE; i++) {
+      Object value = new Object();
+      keep.add(value);
+      list.add(value);
+    }
+    System.gc();
+
+    assertEquals(0, list.expungeStale());
+    assertEquals(LIST_SIZE, list.size());
+    for (int i = 0; i < LIST_SIZE; i++) {
+      assertTrue(keep.get(i) == list.get(i));
+    }
+    assertEquals(LIST_SIZE, list.hitCount());
+    assertEquals(0, list.clearedCount());
+  }
+
+  @Test
+  public void testClearedEntriesAreExpunged() throws InterruptedException {
+    AtomicInteger evicted = new AtomicInteger();
+    ReferenceList<Object> list = new ReferenceList<>(Strength.WEAK, evicted::addAndGet);
+    List<Object> keep = new ArrayList<>();
+    for (int i = 0; i < LIST_SIZE; i++) {
+      Object value = new Object();
+      if (i % 2 == 0) {
+        keep.add(value);
+      }
+      list.add(value);
+    }
+    for (int attempt = 0; attempt < 20 && list.get(1) != null; attempt++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+    assertNull(list.get(1));
+    assertTrue(list.clearedCount() > 0);
+
+    list.expungeStale();
+
+    assertEquals(LIST_SIZE / 2, list.size());
+    assertEquals(LIST_SIZE / 2, evicted.get());
+    assertEquals(LIST_SIZE / 2, list.expungedCount());
+    for (int i = 0; i < list.size(); i++) {
+      assertTrue(keep.get(i) == list.get(i));
+    }
+  }
+
+  @Test
+  public void testSetAndRemove() {
+    ReferenceList<String> list = new ReferenceList<>(Strength.SOFT);
+    String a = "a";
+    String b = "b";
+    list.add(a);
+    list.add(b);
+
+    assertEquals("a", list.set(0, "c"));
+    assertEquals("c", list.get(0));
+    assertEquals("b", list.remove(1));
+    assertEquals(1, list.size());
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void testAddNull() {
+    new ReferenceList<String>(Strength.SOFT).add(null);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testAddOutOfBounds() {
+    new ReferenceList<String>(Strength.WEAK).add(1, "a");
+  }
+}
@@ -0,0 +1,101 @@
+package by.russianzak.customarraylist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import by.russianzak.customarraylist.CustomArrayList.SparseList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+public class SparseListTest {
+
+  private static final int LIST_SIZE = 100_000;
+
+  @Test
+  public void testSparseSetAndGet() {
+    SparseList<String> list = new SparseList<>(LIST_SIZE, 0.25);
+    list.set(5, "a");
+    list.set(70_000, "b");
+    list.set(42, "c");
+
+    assertTrue(list.isSparse());
+    assertEquals(LIST_SIZE, list.size());
+    assertEquals(3, list.nonNullCount());
+    assertEquals("c", list.get(42));
+    assertNull(list.get(43));
+    assertEquals(70_000, list.indexOf("b"));
+    assertEquals(0, list.indexOf(null));
+    assertFalse(list.contains("z"));
+
+    assertEquals("a", list.set(5, null));
+    assertEquals(2, list.nonNullCount());
+  }
+
+  @Test
+  public void testForEachNonNull() {
+    SparseList<Integer> list = new SparseList<>(LIST_SIZE, 0.25);
+    list.set(900, 9);
+    list.set(100, 1);
+    List<Integer> indices = new ArrayList<>();
+    list.forEachNonNull((value, index) -> {
+      indices.add(index);
+      assertEquals(index / 100, value.intValue());
+    });
+    assertEquals(List.of(100, 900), indices);
+  }
+
+  @Test
+  public void testForEachNonNullFailsFastOnSlotChanges() {
+    SparseList<Integer> list = new SparseList<>(LIST_SIZE, 0.25);
+    list.set(100, 1);
+    list.set(200, 2);
+    list.set(300, 3);
+    assertThrows(ConcurrentModificationException.class,
+        () -> list.forEachNonNull((value, index) -> list.set(index, null)));
+    assertThrows(ConcurrentModificationException.class,
+        () -> list.forEachNonNull((value, index) -> list.set(index + 1, value)));
+
+    list.forEachNonNull((value, index) -> list.set(index, value * 10));
+    assertEquals(Integer.valueOf(30), list.get(300));
+  }
+
+  @Test
+  public void testInsertAndRemoveShiftIndices() {
+    SparseList<String> list = new SparseList<>(10, 0.9);
+    list.set(3, "x");
+    list.set(7, "y");
+    list.add(0, null);
+    assertEquals("x", list.get(4));
+    assertEquals("y", list.get(8));
+    assertEquals("x", list.remove(4));
+    assertEquals("y", list.get(7));
+    assertEquals(10, list.size());
+  }
+
+  @Test
+  public void testPromotionToDenseMatchesReference() {
+    Random random = new Random(8);
+    SparseList<Integer> list = new SparseList<>(1000, 0.25);
+    List<Integer> expected = new ArrayList<>(Collections.nCopies(1000, null));
+    for (int i = 0; i < 2000; i++) {
+      int index = random.nextInt(expected.size());
+      switch (random.nextInt(4)) {
+        case 0 -> {
+          list.add(index, i);
+          expected.add(index, i);
+        }
+        case 1 -> assertEquals(expected.remove(index), list.remove(index));
+        default -> assertEquals(expected.set(index, i), list.set(index, i));
+      }
+    }
+    assertFalse(list.isSparse());
+    assertEquals(expected, list);
+  }
+}
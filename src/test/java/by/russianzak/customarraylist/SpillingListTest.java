@@ -0,0 +1,140 @@
+package by.russianzak.customarraylist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import by.russianzak.customarraylist.CustomArrayList.ElementCodec;
+import by.russianzak.customarraylist.CustomArrayList.SpillingList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Random;
+import org.junit.Test;
+
+public class SpillingListTest {
+
+  private static final int LIST_SIZE = 10_000;
+
+  @Test
+  public void testSpillsAndReadsBack() {
+    try (SpillingList<Long> list = new SpillingList<>(ElementCodec.longs(), 64, 4, 2)) {
+      for (long i = 0; i < LIST_SIZE; i++) {
+        list.add(i * 3);
+      }
+
+      assertEquals(LIST_SIZE, list.size());
+      assertTrue(list.residentPages() <= 4);
+      assertTrue(list.pageWrites() > 0);
+      Random random = new Random(7);
+      for (int i = 0; i < 1000; i++) {
+        int index = random.nextInt(LIST_SIZE);
+        assertEquals(Long.valueOf(index * 3L), list.get(index));
+      }
+      assertTrue(list.pageFaults() > 0);
+      assertTrue(list.residentPages() <= 4);
+    }
+  }
+
+  @Test
+  public void testSetSurvivesEviction() {
+    try (SpillingList<String> list = new SpillingList<>(ElementCodec.strings(), 16, 2, 1)) {
+      for (int i = 0; i < 200; i++) {
+        list.add("v" + i);
+      }
+      assertEquals("v3", list.set(3, "changed"));
+      list.set(150, null);
+      for (int i = 0; i < 200; i += 16) {
+        list.get(i);
+      }
+
+      assertEquals("changed", list.get(3));
+      assertNull(list.get(150));
+      assertEquals("v199", list.get(199));
+    }
+  }
+
+  @Test
+  public void testRewrittenPagesReuseSlots() {
+    try (SpillingList<String> list = new SpillingList<>(ElementCodec.strings(), 16, 2, 1)) {
+      String[] expected = new String[160];
+      for (int i = 0; i < 160; i++) {
+        expected[i] = "v" + (1000 + i);
+        list.add(expected[i]);
+      }
+      for (int i = 0; i < 160; i += 16) {
+        list.get(i);
+      }
+      long settledBytes = list.spillFileBytes();
+      long writes = list.pageWrites();
+
+      Random random = new Random(3);
+      for (int round = 0; round < 500; round++) {
+        int index = random.nextInt(160);
+        expected[index] = "w" + (1000 + round);
+        list.set(index, expected[index]);
+      }
+      for (int i = 0; i < 160; i++) {
+        assertEquals(expected[i], list.get(i));
+      }
+
+      assertTrue(list.pageWrites() > writes + 100);
+      assertEquals(settledBytes, list.spillFileBytes());
+    }
+  }
+
+  @Test
+  public void testSequentialIterationPrefetches() {
+    try (SpillingList<Long> list = new SpillingList<>(ElementCodec.longs(), 32, 8, 4)) {
+      for (long i = 0; i < 32 * 40; i++) {
+        list.add(i);
+      }
+      long expected = 0;
+      for (Long value : list) {
+        assertEquals(Long.valueOf(expected++), value);
+      }
+
+      assertEquals(32 * 40, expected);
+      assertTrue(list.residentPages() <= 8);
+    }
+  }
+
+  @Test
+  public void testSequentialIterationReadsAdjacentPagesTogether() {
+    try (SpillingList<Long> list = new SpillingList<>(ElementCodec.longs(), 32, 8, 4)) {
+      for (long i = 0; i < 32 * 40; i++) {
+        list.add(i);
+      }
+      for (Long ignored : list) {
+        assertTrue(list.residentPages() <= 8);
+      }
+
+      assertEquals(40, list.pageFaults());
+      assertEquals(10, list.spillReads());
+    }
+  }
+
+  @Test(expected = ConcurrentModificationException.class)
+  public void testIteratorFailsFastOnAdd() {
+    try (SpillingList<Long> list = new SpillingList<>(ElementCodec.longs(), 4)) {
+      list.add(1L);
+      list.add(2L);
+      Iterator<Long> iterator = list.iterator();
+      iterator.next();
+      list.add(3L);
+      iterator.next();
+    }
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testGetOutOfBounds() {
+    try (SpillingList<Long> list = new SpillingList<>(ElementCodec.longs(), 4)) {
+      list.add(1L);
+      list.get(1);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPrefetchLargerThanBudget() {
+    new SpillingList<>(ElementCodec.longs(), 16, 2, 4);
+  }
+}
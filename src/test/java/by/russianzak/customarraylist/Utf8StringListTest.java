@@ -0,0 +1,100 @@
+package by.russianzak.customarraylist;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import by.russianzak.customarraylist.CustomArrayList.Utf8StringList;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+public class Utf8StringListTest {
+
+  private static final List<String> VALUES =
+      List.of("banana", "apple", "", "\u044f\u0431\u043b\u043e\u043a\u043e", "apricot",
+          "\u65e5\u672c", "b\ud83d\ude00");
+
+  private Utf8StringList list;
+
+  @Before
+  public void setUp() {
+    list = new Utf8StringList();
+    VALUES.forEach(list::add);
+  }
+
+  @Test
+  public void testAddAndGet() {
+    assertEquals(VALUES.size(), list.size());
+    for (int i = 0; i < VALUES.size(); i++) {
+      assertEquals(VALUES.get(i), list.get(i));
+      assertEquals(VALUES.get(i), list.getView(i).toString());
+      assertEquals(VALUES.get(i).getBytes(StandardCharsets.UTF_8).length, list.byteLength(i));
+    }
+    assertThrows(IndexOutOfBoundsException.class, () -> list.get(VALUES.size()));
+  }
+
+  @Test
+  public void testView() {
+    CharSequence ascii = list.getView(0);
+    assertEquals(6, ascii.length());
+    assertEquals('n', ascii.charAt(2));
+    assertEquals("ana", ascii.subSequence(3, 6).toString());
+    assertEquals('\u0431', list.getView(3).charAt(1));
+
+    list.clear();
+    list.add("other!");
+    assertThrows(ConcurrentModificationException.class, () -> ascii.charAt(0));
+  }
+
+  @Test
+  public void testSearch() {
+    assertEquals(3, list.indexOf("\u044f\u0431\u043b\u043e\u043a\u043e"));
+    assertEquals(-1, list.indexOf("\u044f\u0431\u043b\u043e\u043a"));
+    assertTrue(list.contains(""));
+    assertTrue(list.equalsAt(5, "\u65e5\u672c"));
+    assertTrue(list.startsWith(4, "apr"));
+    assertFalse(list.startsWith(2, "a"));
+    assertArrayEquals(new int[]{1, 4}, list.indicesWithPrefix("ap"));
+  }
+
+  @Test
+  public void testSortMatchesCodePointOrder() {
+    List<String> expected = new ArrayList<>(VALUES);
+    expected.sort((a, b) -> {
+      int[] x = a.codePoints().toArray();
+      int[] y = b.codePoints().toArray();
+      return Arrays.compare(x, y);
+    });
+    list.sort();
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i), list.get(i));
+    }
+  }
+
+  @Test
+  public void testReadLines() throws IOException {
+    Path file = Files.createTempFile("utf8-list", ".txt");
+    try {
+      String content = "first\r\n\u0432\u0442\u043e\u0440\u043e\u0439\n\nlast";
+      Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+      Utf8StringList lines = Utf8StringList.readLines(file);
+      assertEquals(4, lines.size());
+      assertEquals("first", lines.get(0));
+      assertEquals("\u0432\u0442\u043e\u0440\u043e\u0439", lines.get(1));
+      assertEquals("", lines.get(2));
+      assertEquals("last", lines.get(3));
+    } finally {
+      Files.delete(file);
+    }
+  }
+}